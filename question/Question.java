@@ -1,429 +1,537 @@
-/*
- * Licensed to the Free Software Foundation (FSF) under one or more
- * contributor license agreements. The FSF licenses this file to You under 
- * the GNU General Public License, Version 3.0 (the "License"); you may 
- * not use this file except in compliance with the License.  You may obtain 
- * a copy of the License at
- *
- *      http://www.gnu.org/licenses/gpl-3.0.txt
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-
-package question;
-
-import java.awt.Component;
-import java.awt.Image;
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.List;
-
-import javax.swing.Icon;
-import javax.swing.ImageIcon;
-import javax.swing.JTextField;
-import javax.swing.text.DefaultStyledDocument;
-import javax.swing.text.Element;
-import javax.swing.text.Segment;
-import javax.swing.text.StyleConstants;
-
-
-/**
- * Each .jqs file contains one QuestionPool. Each QuestionPool contains a list 
- * of one or more Question objects. This class stores the details and methods 
- * associated with each Question.
- * 
- * Note that a question may be currently one of two types - MULTI_CHOICE or
- * DRAG_N_DROP (as defined by the enum QuestionType). It should be easy to 
- * add other types in the future.
- *   
- * MULTI_CHOICE questions are displayed using the MultiChoiceQuestionsScreen.
- * DRAG_N_DROP questions are displayed using the DragAndDropQuestionsScreen. 
- * 
- * @author Ken Williams <jquestions@truerandomness.com>
- * @see QuestionPool
- * @see QuestionType
- * 
- */
-
-public class Question {  
-
-	// String version of main question text.
-	private String questionText;
-
-	// Demo text (secondary display box) of question.
-	private String demoText;
-	
-	// List of possible answer objects.
-	private List<PossibleAnswer> possibleAnswers;
-	
-	// List of index positions of correct answers.
-	private List<Integer> correctAnswers;   
-	
-	// The question type.
-	private QuestionType questionType;
-	
-	// The actual main display document. May contain text, images or objects.
-	private DefaultStyledDocument questionDoc;
-
-	// Text for hints and explanations.
-	private String hintText;
-	private String explainText;
-	
-	// Is question currently marked ?
-	private Boolean marked;
-	
-	
-	/**
-	 * Question constructors.
-	 */
-	
-	public Question() {} 	
-		
-	public Question(String demoStr, String qText, List<PossibleAnswer> pAnswers, 
-			List<Integer> cAnswers, QuestionType qType, 
-			DefaultStyledDocument qDoc,	String hText, String eText, Boolean isMarked) {
-		demoText = demoStr;
-	    questionText = qText;
-	    possibleAnswers = pAnswers;
-	    correctAnswers = cAnswers;
-	    questionType = qType;
-	    questionDoc = qDoc;
-	    hintText = hText;
-	    explainText = eText;
-	    marked = isMarked;
-	}
-
-	/**
-	 * Mainly getters and setters type methods. 
-	 */
-	
-	public String getDemoText() {
-		return demoText;
-	}
-
-	public void setDemoText(String dText) {
-		demoText = dText;
-	}
-	
-	public String getQuestionText() {
-		return questionText;
-	}
-
-	public void setQuestionText(String qText) {
-		questionText = qText;
-	}
-
-	public List<PossibleAnswer> getPossibleAnswers() {
-		return possibleAnswers;
-	}
-
-	public void setPossibleAnswers(List<PossibleAnswer> pAnswers) {
-	    possibleAnswers.clear();
-	    possibleAnswers.addAll(pAnswers);
-	}
-
-	public int getNumberOfPossibleAnswers() {
-		return possibleAnswers.size();
-	}
-	
-	public List<Integer> getCorrectAnswers() {
-		return correctAnswers;
-	}
-
-	public void setCorrectAnswers(List<Integer> cAnswers) {
-	    correctAnswers.clear();
-	    correctAnswers.addAll(cAnswers);
-	}
-			
-	public void setMarked(Boolean b) {
-		marked = b;
-	}
-	
-	public Boolean isMarked() {
-		return marked;
-	}
-	
-	public QuestionType getQuestionType() {
-		return questionType;
-	}
-
-	public void setQuestionType(QuestionType qType) {
-		questionType = qType;
-	}
-
-	public DefaultStyledDocument getQuestionDoc() {
-		return questionDoc;
-	}
-
-	public void setQuestionDoc(DefaultStyledDocument qDoc) {
-		questionDoc = qDoc;
-	}
-	
-	public String getHintText() {
-		return hintText;
-	}
-	
-	public void setHintText(String hText) {
-		hintText = hText;
-	}
-	
-	public String getExplainText() {
-		return explainText;
-	}
-	
-	public void setExplainText(String eText) {
-		explainText = eText;
-	}
-	
-	/**
-	 * The random shuffling of answers calls the appropriate method
-	 * depending on question type.
-	 * 
-	 * For each Question, answers are randomly shuffled each time 
-	 * JQuestions is started to prevent the user from 'visually' 
-	 * learning answers based on their position. 
-	 */
-	
-	public void shuffleAnswers() {
-		if (questionType == QuestionType.MULTI_CHOICE) {
-		    shuffleAnswersForMultiChoice();
-		}
-		else 		
-		if (questionType == QuestionType.DRAG_N_DROP) {
-		    shuffleAnswersForDnD();
-		}
-	}
-	
-
-	/**
-	 * Use a Calendar to init the random number generator 
-	 * based on current time, used to shuffle questions 
-	 * and answers.  
-	 * 
-	 * @return a random integer.
-	 */
-	
-	public int initRandomNumberGenerator() {
-		int randVal = 0;
-		// Shake up the random number generator.
-		Calendar calendar = Calendar.getInstance();
-		int secs = calendar.get(Calendar.SECOND);
-		for (int count = 0; count < secs; count++)
-			randVal = (int) Math.random();
-		return randVal;
-	}
-
-	/**
-	 * Shuffle answers of a DRAG_N_DROP type of question.
-	 * 
-	 * To maintain relationship with correct answers the indices
-	 * of the correctAnswers list needs to be updated with the 
-	 * new location of each shuffled PossibleAnswer.   
-	 */
-
-	public void shuffleAnswersForDnD() {
-
-		// Warm up random number generator.
-		int randVal = initRandomNumberGenerator();
-
-		int pSize = possibleAnswers.size();
-
-		// tempPossibleAnswers is a list of possible answers which will be shuffled.
-		List<PossibleAnswer> tempPossibleAnswers = new ArrayList<PossibleAnswer>();
-		
-		// newPossibleAnswers is the list of new possible answers which we
-		// will build up from the shuffled list of tempPossibleAnswers.
-		List<PossibleAnswer> newPossibleAnswers = new ArrayList<PossibleAnswer>();
-		
-		// The newCorrectAnswers list will also be built from the shuffled
-		// list of tempPossibleAnswers.
-		List<Integer> newCorrectAnswers = new ArrayList<Integer>();
-
-		for (PossibleAnswer p : possibleAnswers) {
-			tempPossibleAnswers.add(new PossibleAnswer(p.getTheAnswer(), false));
-			newPossibleAnswers.add(new PossibleAnswer());
-		}
-
-		for (Integer i : correctAnswers) {
-			tempPossibleAnswers.get(--i).setCorrectness(true);
-			newCorrectAnswers.add(new Integer(0));
-		}
-
-		/**
-		 * The idea here is:
-		 * - Go through each possible answer
-		 * - Insert it into a random position in the new list.
-		 * - If the answer is also a 'correct' then record its new
-		 *   index position in correctAnswers.
-		 */
-
-		for (int i=1; i<=tempPossibleAnswers.size(); i++) {
-			PossibleAnswer answer = tempPossibleAnswers.get(i-1);
-			
-			// Find an empty slot in the new list and insert the record.
-			PossibleAnswer pa = null;
-			int insertVal = 0;
-			do {
-				insertVal = (int) (Math.random() * pSize);
-				pa = newPossibleAnswers.get(insertVal);
-			} while (!pa.getTheAnswer().isEmpty());
-
-			newPossibleAnswers.set(insertVal, answer); 
-
-			// If answer is also correct then we must record 
-			// its index position in the new list of correctAnswers.
-			if (answer.isCorrect()) {
-				for (int i2=1; i2<=newCorrectAnswers.size(); i2++) {
-					if (i == correctAnswers.get(i2-1)) {
-					    newCorrectAnswers.set(i2-1, insertVal+1);
-					}
-				}
-			}
-			
-		}
-		
-		// Update the lists with new values.
-		setPossibleAnswers(newPossibleAnswers);
-		setCorrectAnswers(newCorrectAnswers);
-	}	
-
-	
-	/**
-	 * Shuffle answers of a MULTI_CHOICE type of question.
-	 *
-	 * Keeping the correctAnswers in order is not important.
-	 */
-	
-	public void shuffleAnswersForMultiChoice() {
-		int randVal = initRandomNumberGenerator();
-		int pSize = possibleAnswers.size();
-
-		List<PossibleAnswer> currentPossibleAnswers = new ArrayList<PossibleAnswer>();
-		List<PossibleAnswer> newPossibleAnswers = new ArrayList<PossibleAnswer>();
-		List<Integer> newCorrectAnswers = new ArrayList<Integer>();
-
-		for (PossibleAnswer p : possibleAnswers) {
-			currentPossibleAnswers.add(new PossibleAnswer(p.getTheAnswer(), false, 0, p.getAnswerExplanation()));
-			newPossibleAnswers.add(new PossibleAnswer());
-		}
-
-		for (Integer i : correctAnswers) {
-			currentPossibleAnswers.get(i).setCorrectness(true);
-		}
-
-		while (currentPossibleAnswers.size() > 0) {
-
-			randVal = (int) (Math.random() * currentPossibleAnswers.size());
-
-			PossibleAnswer answer = currentPossibleAnswers.remove(randVal);
-
-			PossibleAnswer pa = null;
-			do {
-				randVal = (int) (Math.random() * pSize);
-				pa = newPossibleAnswers.get(randVal);
-			} while (!pa.getTheAnswer().isEmpty());
-
-			newPossibleAnswers.set(randVal, answer);
-
-			if (answer.isCorrect()) {
-				newCorrectAnswers.add(new Integer(randVal + 1));
-			}
-		}
-
-		// Update the lists with new values.
-		setPossibleAnswers(newPossibleAnswers);
-		setCorrectAnswers(newCorrectAnswers);
-	}
-
-	/**
-	 * Return a String representation of the Question.
-	 */
-	
-	public String toString() {
-		StringBuilder sb = new StringBuilder("demoText = " + demoText + "\n" +
-		       "questionText = " + questionText + "\n" +		       		       
-		       "questionType = " + questionType + "\n" +
-		       "questionDoc = " + questionDoc + "\n" +
-		       "correctAnswers = " + correctAnswers + "\n" +
-			   "possibleAnswers = " + possibleAnswers + "\n");
-
-		for (PossibleAnswer pa: possibleAnswers) {
-            sb.append(pa.getTheAnswer() + " | " + pa.getAnswerExplanation() + "\n");			
-		}
-				
-		return sb.toString();
- 
-	}
-
-	/**
-	 * Useful debug code - analyzes the contents of a DefaultStyledDocument 
-	 * object identifies all its Components (chars, Images, Components, etc). 
-	 */	
-	public void analyzeDoc() {
-		DefaultStyledDocument doc = questionDoc;
-		if (doc == null) {
-			System.out.println("questionDoc is null!");
-			return;
-		}
-		int len = doc.getLength();
-		System.out.println("len = " + len);
-
-		// Do a text dump of the DefaultStyledDocument.
-		//doc.dump(System.out);
-		
-		for (int i = 0; i < doc.getLength(); i++) {
-			
-			Element e = doc.getCharacterElement(i);
-			System.out.println("[" + i + "] = " + e + " XXX " + e.getClass().getName());
-			
-			int nleft = doc.getLength();			
-			Segment text = new Segment();
-			int offs = i;
-			//text.setPartialReturn(true); 
-			try {
-	            doc.getText(offs, 1, text);
-				System.out.println("Segment => " + text);
-			} 
-			catch (Exception ble) {
-				System.out.println("caught BadLocationException" + ble);			
-			}		
-
-			
-			// Identify any JTextFields
-			Component comp = StyleConstants.getComponent(doc
-					.getCharacterElement(i).getAttributes());
-			if (comp != null) {
-				System.out.println("Component = " + comp.getClass().getName());
-			}			
-			if (comp != null && (comp instanceof JTextField)) {
-				System.out.println("Found a JTextField at location " + i);
-				JTextField jtf = (JTextField) comp;
-				String str = jtf.getText();
-				System.out.println("   getText() = " + str);
-				str = jtf.getName();
-				System.out.println("   getName() = " + str);
-			}
-			
-			// Identify any ImageIcons			
-			Icon icon = StyleConstants.getIcon(doc
-					.getCharacterElement(i).getAttributes());
-	
-			if (icon != null && (icon instanceof Icon)) {
-				System.out.println("Found an Icon at location " + i);
-				ImageIcon imageIcon = (ImageIcon) icon;
-				int w = imageIcon.getIconWidth();
-				int h = imageIcon.getIconHeight();
-				Image image = imageIcon.getImage();
-				String str = imageIcon.toString();
-				System.out.println(" h w = " + h + " " + w);
-				System.out.println(" str = " + str);				
-			}		
-		}
-	}
-}
-
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under 
+ * the GNU General Public License, Version 3.0 (the "License"); you may 
+ * not use this file except in compliance with the License.  You may obtain 
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.awt.Component;
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JTextField;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Element;
+import javax.swing.text.Segment;
+import javax.swing.text.StyleConstants;
+
+import utils.DocumentUtils;
+
+
+/**
+ * Each .jqs file contains one QuestionPool. Each QuestionPool contains a list 
+ * of one or more Question objects. This class stores the details and methods 
+ * associated with each Question.
+ * 
+ * Note that a question may be currently one of two types - MULTI_CHOICE or
+ * DRAG_N_DROP (as defined by the enum QuestionType). It should be easy to 
+ * add other types in the future.
+ *   
+ * MULTI_CHOICE questions are displayed using the MultiChoiceQuestionsScreen.
+ * DRAG_N_DROP questions are displayed using the DragAndDropQuestionsScreen. 
+ * 
+ * @author Ken Williams <jquestions@truerandomness.com>
+ * @see QuestionPool
+ * @see QuestionType
+ * 
+ */
+
+public class Question {  
+
+	// String version of main question text.
+	private String questionText;
+
+	// Demo text (secondary display box) of question.
+	private String demoText;
+	
+	// List of possible answer objects.
+	// Neither list is changed in place; a setter swaps in a new one, so
+	// a session reading the question never sees one half changed.
+	private volatile List<PossibleAnswer> possibleAnswers;
+	
+	// List of index positions of correct answers.
+	private volatile List<Integer> correctAnswers;   
+
+	// What grading needs, worked out from these and the main text below 
+	// whenever they are set.
+	private volatile Grading grading = new Grading(null, null, null);
+	
+	// The question type.
+	private QuestionType questionType;
+	
+	// The actual main display document. May contain text, images or objects.
+	// Questions read from a file start with only their content; the 
+	// document is created from it when the question is first displayed, 
+	// and from then on it is the document that is kept up to date.
+	private DefaultStyledDocument questionDoc;
+	private QuestionContent questionContent;
+
+	// Text for hints and explanations.
+	private String hintText;
+	private String explainText;
+	
+	// Is question currently marked ?
+	private Boolean marked;
+
+	// Topics the question covers, e.g. "threads", "generics". 
+	private volatile Set<String> tags = Collections.emptySet();
+
+	// How hard the question is, from 1 (easiest) up; 0 if not rated.
+	private Integer difficulty = 0;
+	
+	// A snapshot (see createSnapshot) can't be changed.
+	private final boolean snapshot;
+
+	// The number of changes made through the setters, so a copy can 
+	// tell if it is still up to date.
+	private int modCount;
+	
+	
+	/**
+	 * Question constructors.
+	 */
+	
+	public Question() {
+		snapshot = false;
+	} 	
+		
+	public Question(String demoStr, String qText, List<PossibleAnswer> pAnswers, 
+			List<Integer> cAnswers, QuestionType qType, 
+			DefaultStyledDocument qDoc,	String hText, String eText, Boolean isMarked) {
+		this(demoStr, qText, pAnswers, cAnswers, qType, qDoc, null, 
+				hText, eText, isMarked, false);
+	}
+
+	public Question(String demoStr, String qText, List<PossibleAnswer> pAnswers, 
+			List<Integer> cAnswers, QuestionType qType, 
+			QuestionContent qContent, String hText, String eText, Boolean isMarked) {
+		this(demoStr, qText, pAnswers, cAnswers, qType, null, qContent, 
+				hText, eText, isMarked, false);
+	}
+
+	private Question(String demoStr, String qText, List<PossibleAnswer> pAnswers, 
+			List<Integer> cAnswers, QuestionType qType, DefaultStyledDocument qDoc, 
+			QuestionContent qContent, String hText, String eText, Boolean isMarked, 
+			boolean isSnapshot) {
+		snapshot = isSnapshot;
+		demoText = demoStr;
+	    questionText = qText;
+	    possibleAnswers = copyOf(pAnswers);
+	    correctAnswers = copyOf(cAnswers);
+	    questionType = qType;
+	    questionDoc = qDoc;
+	    questionContent = qContent;
+	    hintText = hText;
+	    explainText = eText;
+	    marked = isMarked;
+	    // The blanks are found now, as the question is read, not when graded.
+	    grading = new Grading(correctAnswers, questionDoc, questionContent);
+	}
+
+	/**
+	 * Called before any change is made to the question; counts it.
+	 * 
+	 * @throws UnsupportedOperationException if the question is a snapshot.
+	 */
+	private void checkWritable() {
+		if (snapshot) {
+			throw new UnsupportedOperationException("A question snapshot can't be changed");
+		}
+		modCount++;
+	}
+
+	/**
+	 * @return is this a copy made by createSnapshot(), which can't be 
+	 *         changed and has no document ?
+	 */
+	public boolean isSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * @return the number of changes made through the setters. If the 
+	 *         document is edited in place that is only counted when 
+	 *         setQuestionDoc() is called again.
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * Mainly getters and setters type methods. 
+	 */
+	
+	public String getDemoText() {
+		return demoText;
+	}
+
+	public void setDemoText(String dText) {
+		checkWritable();
+		demoText = dText;
+	}
+	
+	public String getQuestionText() {
+		return questionText;
+	}
+
+	public void setQuestionText(String qText) {
+		checkWritable();
+		questionText = qText;
+	}
+
+	public List<PossibleAnswer> getPossibleAnswers() {
+		return possibleAnswers;
+	}
+
+	public void setPossibleAnswers(List<PossibleAnswer> pAnswers) {
+	    checkWritable();
+	    possibleAnswers = copyOf(pAnswers);
+	}
+
+	public int getNumberOfPossibleAnswers() {
+		return possibleAnswers.size();
+	}
+	
+	public List<Integer> getCorrectAnswers() {
+		return correctAnswers;
+	}
+
+	public void setCorrectAnswers(List<Integer> cAnswers) {
+	    checkWritable();
+	    correctAnswers = copyOf(cAnswers);
+	    grading = new Grading(correctAnswers, questionDoc, questionContent);
+	}
+
+	/**
+	 * The correct answers of a MULTI_CHOICE question as a bitmask, 
+	 * by their index in getPossibleAnswers(). QuestionView maps them 
+	 * to the positions a user sees. 
+	 * 
+	 * Made from getCorrectAnswers() each time they are set, so reading 
+	 * it changes nothing.
+	 */
+	public AnswerSet getCorrectAnswerSet() {
+		return grading.correctAnswerSet;
+	}
+			
+	public void setMarked(Boolean b) {
+		checkWritable();
+		marked = b;
+	}
+	
+	public Boolean isMarked() {
+		return marked;
+	}
+	
+	public QuestionType getQuestionType() {
+		return questionType;
+	}
+
+	public void setQuestionType(QuestionType qType) {
+		checkWritable();
+		questionType = qType;
+	}
+
+	public DefaultStyledDocument getQuestionDoc() {
+		return questionDoc;
+	}
+
+	/**
+	 * If the document is edited in place, call this again afterwards, 
+	 * so the blanks are found again.
+	 */
+	public void setQuestionDoc(DefaultStyledDocument qDoc) {
+		checkWritable();
+		questionDoc = qDoc;
+		grading = new Grading(correctAnswers, questionDoc, questionContent);
+	}
+
+	/**
+	 * @return the content the question was read with, or null if it was
+	 *         created from a document. Once getQuestionDoc() is not null
+	 *         the content may be out of date.
+	 */
+	public QuestionContent getQuestionContent() {
+		return questionContent;
+	}
+
+	public void setQuestionContent(QuestionContent qContent) {
+		checkWritable();
+		questionContent = qContent;
+		grading = new Grading(correctAnswers, questionDoc, questionContent);
+	}
+
+	/**
+	 * @return the number of blanks (drag-n-drop fields) in the main text.
+	 */
+	public int getNumberOfBlanks() {
+		return grading.blankOffsets.length;
+	}
+
+	/**
+	 * @param blank - The blank's number, from 0, in the order they appear.
+	 * @return its offset in the main display document.
+	 */
+	public int getBlankOffset(int blank) {
+		return grading.blankOffsets[blank];
+	}
+
+	/**
+	 * @param blank - The blank's number, from 0, in the order they appear.
+	 * @return the index in getPossibleAnswers() of the answer that belongs 
+	 *         in it, or -1 if none does.
+	 */
+	public int getBlankAnswer(int blank) {
+		return grading.blankAnswers[blank];
+	}
+
+	public String getHintText() {
+		return hintText;
+	}
+	
+	public void setHintText(String hText) {
+		checkWritable();
+		hintText = hText;
+	}
+	
+	public String getExplainText() {
+		return explainText;
+	}
+	
+	public void setExplainText(String eText) {
+		checkWritable();
+		explainText = eText;
+	}
+
+	/**
+	 * @return the question's tags, in the order they were set.
+	 */
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Replace the question's tags. Each tag is trimmed, and empty 
+	 * tags are dropped. 
+	 * 
+	 * If the question is in a QuestionPool, call the pool's 
+	 * updateIndex() afterwards.
+	 * 
+	 * @param newTags
+	 */
+	public void setTags(Collection<String> newTags) {
+		checkWritable();
+		Set<String> trimmed = new LinkedHashSet<String>();
+		for (String tag : newTags) {
+			tag = tag.trim();
+			if (tag.length() > 0) {
+				trimmed.add(tag);
+			}
+		}
+		tags = Collections.unmodifiableSet(trimmed);
+	}
+
+	public Integer getDifficulty() {
+		return difficulty;
+	}
+
+	/**
+	 * If the question is in a QuestionPool, call the pool's 
+	 * updateIndex() afterwards.
+	 * 
+	 * @param d - from 1 (easiest) up, or 0 if not rated.
+	 */
+	public void setDifficulty(Integer d) {
+		checkWritable();
+		difficulty = d;
+	}
+	
+	/**
+	 * Make a copy to be read by other threads while this question may 
+	 * be edited, e.g. for a PoolSnapshot. It has its own possible 
+	 * answers, and the given content in place of a document. Nothing 
+	 * in it can be changed - each setter throws an 
+	 * UnsupportedOperationException - and it never gets a document, so 
+	 * each reader makes its own from the content (see 
+	 * utils.DocumentUtils.getQuestionDoc).
+	 * 
+	 * @param content - the up to date content of this question.
+	 */
+	public Question createSnapshot(QuestionContent content) {
+		List<PossibleAnswer> pAnswers = new ArrayList<PossibleAnswer>();
+		for (PossibleAnswer pa : possibleAnswers) {
+			StringBuilder explanation = pa.getAnswerExplanation();
+			if (explanation != null) {
+				explanation = new StringBuilder(explanation);
+			}
+			pAnswers.add(new PossibleAnswer(pa.getTheAnswer(), pa.isCorrect(), 
+					pa.getOrder(), explanation));
+		}
+		Question copy = new Question(demoText, questionText, pAnswers, 
+				correctAnswers, questionType, null, content, hintText, explainText, 
+				marked, true);
+		copy.tags = tags;
+		copy.difficulty = difficulty;
+		return copy;
+	}
+
+	/**
+	 * @return a copy of a list that can't be changed, or null.
+	 */
+	private static <T> List<T> copyOf(List<T> list) {
+		return (list == null) ? null 
+				: Collections.unmodifiableList(new ArrayList<T>(list));
+	}
+
+	/**
+	 * What grading needs, worked out from the question when it is set, 
+	 * so reading it never changes the question. Replaced as a whole, 
+	 * never changed, so another thread sees all of it or none.
+	 * 
+	 * The blanks of a DRAG_N_DROP question are in the order they appear: 
+	 * the offset of each in the main text, and the index of the possible 
+	 * answer that belongs in it (-1 if none). The document is used if 
+	 * there is one, as it may have been edited; otherwise the content.
+	 */
+	private static final class Grading {
+		final AnswerSet correctAnswerSet;
+		final int[] blankOffsets;
+		final int[] blankAnswers;
+
+		Grading(List<Integer> correctAnswers, DefaultStyledDocument doc, 
+				QuestionContent content) {
+			correctAnswerSet = AnswerSet.fromCorrectAnswers(correctAnswers);
+
+			List<Integer> offsets = new ArrayList<Integer>();
+			if (doc != null) {
+				Map<Integer, JTextField> textFieldMap = new TreeMap<Integer, JTextField>();
+				DocumentUtils.getEmbeddedObjects(doc, null, textFieldMap);
+				offsets.addAll(textFieldMap.keySet());
+			}
+			else
+			if (content != null) {
+				for (QuestionContent.Blank blank : content.getBlanks()) {
+					offsets.add(blank.getPosition());
+				}
+			}
+
+			blankOffsets = new int[offsets.size()];
+			blankAnswers = new int[blankOffsets.length];
+			for (int i = 0; i < blankOffsets.length; i++) {
+				blankOffsets[i] = offsets.get(i);
+				// The answers of DRAG_N_DROP fields are held from 1.
+				blankAnswers[i] = ((correctAnswers != null) && (i < correctAnswers.size())) 
+						? correctAnswers.get(i) - 1 : -1;
+			}
+		}
+	}
+
+	/**
+	 * Return a String representation of the Question.
+	 */
+	
+	public String toString() {
+		StringBuilder sb = new StringBuilder("demoText = " + demoText + "\n" +
+		       "questionText = " + questionText + "\n" +		       		       
+		       "questionType = " + questionType + "\n" +
+		       "tags = " + tags + ", difficulty = " + difficulty + "\n" +
+		       "questionDoc = " + questionDoc + "\n" +
+		       "correctAnswers = " + correctAnswers + "\n" +
+			   "possibleAnswers = " + possibleAnswers + "\n");
+
+		for (PossibleAnswer pa: possibleAnswers) {
+            sb.append(pa.getTheAnswer() + " | " + pa.getAnswerExplanation() + "\n");			
+		}
+				
+		return sb.toString();
+ 
+	}
+
+	/**
+	 * Useful debug code - analyzes the contents of a DefaultStyledDocument 
+	 * object identifies all its Components (chars, Images, Components, etc). 
+	 */	
+	public void analyzeDoc() {
+		DefaultStyledDocument doc = questionDoc;
+		if (doc == null) {
+			System.out.println("questionDoc is null!");
+			return;
+		}
+		int len = doc.getLength();
+		System.out.println("len = " + len);
+
+		// Do a text dump of the DefaultStyledDocument.
+		//doc.dump(System.out);
+		
+		for (int i = 0; i < doc.getLength(); i++) {
+			
+			Element e = doc.getCharacterElement(i);
+			System.out.println("[" + i + "] = " + e + " XXX " + e.getClass().getName());
+			
+			int nleft = doc.getLength();			
+			Segment text = new Segment();
+			int offs = i;
+			//text.setPartialReturn(true); 
+			try {
+	            doc.getText(offs, 1, text);
+				System.out.println("Segment => " + text);
+			} 
+			catch (Exception ble) {
+				System.out.println("caught BadLocationException" + ble);			
+			}		
+
+			
+			// Identify any JTextFields
+			Component comp = StyleConstants.getComponent(doc
+					.getCharacterElement(i).getAttributes());
+			if (comp != null) {
+				System.out.println("Component = " + comp.getClass().getName());
+			}			
+			if (comp != null && (comp instanceof JTextField)) {
+				System.out.println("Found a JTextField at location " + i);
+				JTextField jtf = (JTextField) comp;
+				String str = jtf.getText();
+				System.out.println("   getText() = " + str);
+				str = jtf.getName();
+				System.out.println("   getName() = " + str);
+			}
+			
+			// Identify any ImageIcons			
+			Icon icon = StyleConstants.getIcon(doc
+					.getCharacterElement(i).getAttributes());
+	
+			if (icon != null && (icon instanceof Icon)) {
+				System.out.println("Found an Icon at location " + i);
+				ImageIcon imageIcon = (ImageIcon) icon;
+				int w = imageIcon.getIconWidth();
+				int h = imageIcon.getIconHeight();
+				Image image = imageIcon.getImage();
+				String str = imageIcon.toString();
+				System.out.println(" h w = " + h + " " + w);
+				System.out.println(" str = " + str);				
+			}		
+		}
+	}
+}
+
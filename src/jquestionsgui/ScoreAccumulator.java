@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jquestionsgui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * This class keeps the running score of the test being taken, so it can
+ * be shown at any time without going back over every answer.
+ * 
+ * start() is given the answers of a new test, in the order they are 
+ * asked. From then on every grading goes through record(), which takes 
+ * the answer's old score out of the totals and puts the new one in - a 
+ * few steps, however long the test. The totals are kept for the whole 
+ * test and for each section, i.e. each tag of the questions; a question 
+ * with several tags counts in each of its sections.
+ * 
+ * Scores are from 0 to 1 for each question, so part credit (see 
+ * ScoringRule) is counted; an answer is correct if it scores 1.
+ * 
+ * @see UserAnswer
+ * @see ScoreListener
+ */
+public class ScoreAccumulator {
+
+	// The answers of the test in the order asked, and the position of each.
+	private List<UserAnswer> answers = new ArrayList<UserAnswer>();
+	private Map<UserAnswer, Integer> positions = new IdentityHashMap<UserAnswer, Integer>();
+
+	// Totals for the whole test.
+	private Totals test = new Totals();
+
+	// Totals for each section (tag), in the order first met.
+	private Map<String, Totals> sections = new LinkedHashMap<String, Totals>();
+
+	private List<ScoreListener> listeners = new ArrayList<ScoreListener>();
+
+
+	/**
+	 * Create an accumulator with no test started.
+	 */
+	public ScoreAccumulator() {
+		super();
+	}
+
+	/**
+	 * Start a new test, with none of its answers graded yet.
+	 * 
+	 * @param testAnswers - The answers of the test, in the order asked.
+	 */
+	public void start(List<UserAnswer> testAnswers) {
+		answers = new ArrayList<UserAnswer>(testAnswers);
+		positions = new IdentityHashMap<UserAnswer, Integer>();
+		test = new Totals();
+		sections = new LinkedHashMap<String, Totals>();
+		for (int i = 0; i < answers.size(); i++) {
+			UserAnswer answer = answers.get(i);
+			positions.put(answer, i);
+			test.questions++;
+			for (String tag : answer.getQuestion().getTags()) {
+				Totals section = sections.get(tag);
+				if (section == null) {
+					section = new Totals();
+					sections.put(tag, section);
+				}
+				section.questions++;
+			}
+		}
+	}
+
+	/**
+	 * Forget the test, e.g. when its pool is closed.
+	 */
+	public void clear() {
+		start(Collections.<UserAnswer>emptyList());
+	}
+
+	/**
+	 * Store the score of an answer of the test, and update the totals.
+	 * 
+	 * @param answer - The answer just graded.
+	 * @param score - Its score, from 0 to 1.
+	 */
+	public void record(UserAnswer answer, double score) {
+		Integer position = positions.get(answer);
+		if (position == null) {
+			throw new IllegalArgumentException("Not an answer of this test");
+		}
+
+		boolean wasGraded = answer.isGraded();
+		double oldScore = answer.getScore();
+		boolean wasCorrect = answer.isCorrect();
+		boolean correct = (score >= 1.0);
+		answer.setScore(score);
+		answer.setCorrectness(correct);
+
+		test.change(wasGraded, oldScore, wasCorrect, score, correct);
+		for (String tag : answer.getQuestion().getTags()) {
+			sections.get(tag).change(wasGraded, oldScore, wasCorrect, score, correct);
+		}
+
+		for (ScoreListener listener : listeners) {
+			listener.scoreChanged(position, answer);
+		}
+	}
+
+	public void addScoreListener(ScoreListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeScoreListener(ScoreListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @return the answer at a position of the test.
+	 */
+	public UserAnswer getAnswer(int position) {
+		return answers.get(position);
+	}
+
+	/**
+	 * @return the number of questions in the test.
+	 */
+	public int getQuestions() {
+		return test.questions;
+	}
+
+	/**
+	 * @return the number of questions graded so far.
+	 */
+	public int getAnswered() {
+		return test.answered;
+	}
+
+	/**
+	 * @return the number of answers that are correct.
+	 */
+	public int getCorrect() {
+		return test.correct;
+	}
+
+	/**
+	 * @return the sum of the scores, counting part credit.
+	 */
+	public double getTotalScore() {
+		return test.score;
+	}
+
+	/**
+	 * @return the total score as a percentage of the whole test.
+	 */
+	public double getPercentage() {
+		return test.getPercentage();
+	}
+
+	/**
+	 * @return the sections (tags) of the test's questions.
+	 */
+	public Set<String> getSections() {
+		return Collections.unmodifiableSet(sections.keySet());
+	}
+
+	public int getSectionQuestions(String tag) {
+		return getSection(tag).questions;
+	}
+
+	public int getSectionAnswered(String tag) {
+		return getSection(tag).answered;
+	}
+
+	public int getSectionCorrect(String tag) {
+		return getSection(tag).correct;
+	}
+
+	public double getSectionScore(String tag) {
+		return getSection(tag).score;
+	}
+
+	/**
+	 * @return the total score of a section as a percentage of it.
+	 */
+	public double getSectionPercentage(String tag) {
+		return getSection(tag).getPercentage();
+	}
+
+	private Totals getSection(String tag) {
+		Totals section = sections.get(tag);
+		return (section == null) ? new Totals() : section;
+	}
+
+
+	/**
+	 * The totals of the test, or of one section.
+	 */
+	private static final class Totals {
+		int questions;
+		int answered;
+		int correct;
+		double score;
+
+		void change(boolean wasGraded, double oldScore, boolean wasCorrect,
+				double newScore, boolean isCorrect) {
+			if (wasGraded) {
+				score -= oldScore;
+				if (wasCorrect) {
+					correct--;
+				}
+			}
+			else {
+				answered++;
+			}
+			score += newScore;
+			if (isCorrect) {
+				correct++;
+			}
+		}
+
+		double getPercentage() {
+			return (questions == 0) ? 0.0 : 100.0 * score / questions;
+		}
+	}
+}
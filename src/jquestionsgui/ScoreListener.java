@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jquestionsgui;
+
+
+/**
+ * Told by a ScoreAccumulator each time an answer's score changes, e.g.
+ * so the Report window can update just that answer.
+ *
+ * Called on the thread that recorded the score - for JQuestions, the
+ * event dispatch thread.
+ *
+ * @see ScoreAccumulator
+ */
+
+public interface ScoreListener {
+
+	/**
+	 * An answer has been graded, or graded again.
+	 *
+	 * @param position - the answer's position in the test, from 0.
+	 * @param answer - the answer, with its new score.
+	 */
+	void scoreChanged(int position, UserAnswer answer);
+}
@@ -18,15 +18,17 @@ package jquestionsgui;
 
 
 
-import java.awt.Component;
 import java.util.ArrayList;
 
-import javax.swing.JTextField;
 import javax.swing.text.DefaultStyledDocument;
-import javax.swing.text.StyleConstants;
 
+import question.AnswerRecord;
+import question.AnswerSet;
 import question.Question;
+import question.QuestionContent;
 import question.QuestionType;
+import question.QuestionView;
+import utils.DocumentUtils;
 
 /**
  * This class holds all the details and methods for each user
@@ -34,6 +36,10 @@ import question.QuestionType;
  * user answer to each question so as to allow the user to return 
  * to a question and change their answer, should they wish to.
  * 
+ * The Question is shared, and never changed; what this user sees of 
+ * it - the order of its answers and, for a drag-n-drop question, the 
+ * document holding the fields they fill in - is kept here.
+ * 
  * Used in JQuestionsGUI object.
  * 
  * @author Ken Williams <jquestions@truerandomness.com>
@@ -42,13 +48,16 @@ import question.QuestionType;
  */
 public class UserAnswer {
 
-	private ArrayList<Boolean> answerBoxes;
+	private AnswerSet answerBoxes;    // The ticked boxes.
 	private ArrayList<String> answerFields;
-	private Question question;    // Each UserAnswer is 
+	private QuestionView view;    // Each UserAnswer is 
 	                              // associated with exactly 1 Question.
+	private DefaultStyledDocument questionDoc;    // Made when first shown.
 	private int questionIndex;
 	private QuestionType questionType;
 	private boolean correct = false;   // Is this answer correct ?
+	private double score = 0.0;        // ...and its score, from 0 to 1.
+	private boolean graded = false;    // Has it been scored yet ?
 	private int options = 0;
 
 	
@@ -56,38 +65,29 @@ public class UserAnswer {
 	 * Construct a UserAnswer object for a given Question object
 	 * and its index poosition.
 	 *  
-	 * @param q - The Question object.
+	 * @param v - The view of the Question this user sees.
 	 * @param index - The index position of the Question. 
 	 */
 	
-	public UserAnswer(Question q, int index) {
-		question = q;
+	public UserAnswer(QuestionView v, int index) {
+		view = v;
+		Question question = v.getQuestion();
 		questionIndex = index;
 		questionType = question.getQuestionType();
 		
 		if (questionType == QuestionType.MULTI_CHOICE) {
 			options = question.getPossibleAnswers().size();
-			answerBoxes = new ArrayList<Boolean>();
-			for (int i=0; i<options; i++) {
-			    answerBoxes.add(new Boolean(false));
-			}
+			answerBoxes = new AnswerSet();
 		}
 		else 
 		if (questionType == QuestionType.DRAG_N_DROP) {
 			options = question.getPossibleAnswers().size();
 			answerFields = new ArrayList<String>();			
-			DefaultStyledDocument doc = question.getQuestionDoc();
-			if (doc == null) {
-				System.out.println("doc is null");
-				return;
-			}
+			// The question knows its blanks without a document.
+			int fields = question.getNumberOfBlanks();
 			
-			for (int i = 0; i < doc.getLength(); i++) {
-				Component comp = StyleConstants.getComponent(doc
-						.getCharacterElement(i).getAttributes());
-				if (comp != null && (comp instanceof JTextField)) {
-                    answerFields.add(new String());					
-				}
+			for (int i = 0; i < fields; i++) {
+                answerFields.add(new String());
 			}						
 		}		
 	}
@@ -97,11 +97,39 @@ public class UserAnswer {
 	 */
 	
 	public Question getQuestion() {
-		return question;
+		return view.getQuestion();
 	}
 
-	public void setQuestion(Question q) {
-		question = q;
+	public QuestionView getQuestionView() {
+		return view;
+	}
+
+	/**
+	 * The question's main display document, made when first asked for.
+	 * 
+	 * It is made from the question's content and kept here, not by the 
+	 * Question, which other sessions may be reading at the same time. 
+	 * So a drag-n-drop question's fields hold this user's text alone. 
+	 * Only a question that has no content, just a document, shares it.
+	 */
+	public DefaultStyledDocument getQuestionDoc() {
+		if (questionDoc == null) {
+			Question question = view.getQuestion();
+			QuestionContent content = question.getQuestionContent();
+			boolean ownCopy = (questionType == QuestionType.DRAG_N_DROP) 
+					|| (question.getQuestionDoc() == null);
+			if (ownCopy && (content != null)) {
+				questionDoc = DocumentUtils.createDocument(content);
+			}
+			else {
+				questionDoc = question.getQuestionDoc();
+			}
+		}
+		return questionDoc;
+	}
+
+	public boolean hasQuestionDoc() {
+		return questionDoc != null;
 	}
 	
 	public void setCorrectness(boolean correctness) {
@@ -112,6 +140,25 @@ public class UserAnswer {
 		return correct;
 	}
 
+	/**
+	 * The score of the answer when last graded, by the pool's scoring 
+	 * rule - between 0 and 1, if it earned part credit. Set through 
+	 * ScoreAccumulator.record(), so the session's totals are kept up 
+	 * to date.
+	 */
+	public void setScore(double s) {
+		score = s;
+		graded = true;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public boolean isGraded() {
+		return graded;
+	}
+
 	public Boolean getAnswerBox(int index) {
 		return answerBoxes.get(index);
 	}
@@ -120,6 +167,26 @@ public class UserAnswer {
 		answerBoxes.set(index, b);
 	}
 	
+	/**
+	 * The ticked boxes of a MULTI_CHOICE answer, to compare with
+	 * Question.getCorrectAnswerSet().
+	 */
+	public AnswerSet getAnswerBoxes() {
+		return answerBoxes;
+	}
+	
+	/**
+	 * The answer as plain data, to grade or keep: the ticked boxes by 
+	 * their index in the Question (not their position on screen), or 
+	 * the text in each field.
+	 */
+	public AnswerRecord getAnswerRecord() {
+		if (questionType == QuestionType.MULTI_CHOICE) {
+			return new AnswerRecord(view.toIndices(answerBoxes));
+		}
+		return new AnswerRecord(new ArrayList<String>(answerFields));
+	}
+
 	public String getAnswerField(int index) {
 		return answerFields.get(index);
 	}
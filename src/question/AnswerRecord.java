@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A user's answer to one question, as plain data - what GradingEngine
+ * grades, with no Swing components involved.
+ *
+ * For a MULTI_CHOICE question it is the set of possible answers ticked;
+ * for a DRAG_N_DROP question, the text in each field, in the order the
+ * fields appear in the question.
+ *
+ * Positions of ticked answers are either indices in the Question's own
+ * list of possible answers, or positions on screen - graded with the
+ * Question, or with the QuestionView the user saw, respectively.
+ *
+ * @see GradingEngine
+ */
+
+public class AnswerRecord {
+
+	private final AnswerSet selected;
+	private final List<String> fields;
+
+
+	/**
+	 * An answer to a MULTI_CHOICE question.
+	 *
+	 * @param selected - the possible answers ticked.
+	 */
+	public AnswerRecord(AnswerSet selected) {
+		this(selected, Collections.<String>emptyList());
+	}
+
+	/**
+	 * An answer to a DRAG_N_DROP question.
+	 *
+	 * @param fields - the text in each field.
+	 */
+	public AnswerRecord(List<String> fields) {
+		this(new AnswerSet(), fields);
+	}
+
+	private AnswerRecord(AnswerSet selected, List<String> fields) {
+		this.selected = selected;
+		this.fields = fields;
+	}
+
+	public AnswerSet getSelected() {
+		return selected;
+	}
+
+	public List<String> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return the text in a field, or "" if the field wasn't filled in.
+	 */
+	public String getField(int index) {
+		if ((index < fields.size()) && (fields.get(index) != null)) {
+			return fields.get(index);
+		}
+		return "";
+	}
+}
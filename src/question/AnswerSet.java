@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+
+/**
+ * A set of the possible answers of a MULTI_CHOICE question, by their
+ * 0-based position - either the ones that are correct, or the ones a user
+ * has ticked.
+ *
+ * The set is a bitmask: one long while there are no more than 64 possible
+ * answers, and a BitSet beyond that. So a user answer is graded by one
+ * comparison of its set with the question's, whatever the number of
+ * answers.
+ *
+ * @see Question#getCorrectAnswerSet()
+ * @see QuestionView#getCorrectAnswerSet()
+ */
+
+public class AnswerSet {
+
+	// Bits of answers 0 - 63.
+	private long mask;
+
+	// All the bits, once an answer beyond 63 has been added; else null.
+	private BitSet bits;
+
+
+	/**
+	 * Create an empty set.
+	 */
+	public AnswerSet() {
+		super();
+	}
+
+	/**
+	 * Create the set of correct answers of a MULTI_CHOICE question.
+	 *
+	 * @param correctAnswers - 0-based positions, as held by Question.
+	 */
+	public static AnswerSet fromCorrectAnswers(Collection<Integer> correctAnswers) {
+		AnswerSet set = new AnswerSet();
+		if (correctAnswers != null) {
+			for (Integer i : correctAnswers) {
+				if ((i != null) && (i >= 0)) {
+					set.set(i, true);
+				}
+			}
+		}
+		return set;
+	}
+
+	public boolean get(int index) {
+		if (bits != null) {
+			return bits.get(index);
+		}
+		return (index < 64) && ((mask & (1L << index)) != 0);
+	}
+
+	public void set(int index, boolean b) {
+		if ((bits == null) && (index >= 64)) {
+			if (!b) {
+				return;
+			}
+			bits = toBitSet(mask);
+		}
+		if (bits != null) {
+			bits.set(index, b);
+		}
+		else
+		if (b) {
+			mask |= 1L << index;
+		}
+		else {
+			mask &= ~(1L << index);
+		}
+	}
+
+	public void clear() {
+		mask = 0;
+		bits = null;
+	}
+
+	/**
+	 * @return the number of answers in the set.
+	 */
+	public int size() {
+		return (bits != null) ? bits.cardinality() : Long.bitCount(mask);
+	}
+
+	public boolean isEmpty() {
+		return (bits != null) ? bits.isEmpty() : (mask == 0);
+	}
+
+	/**
+	 * @return the number of answers in both this set and another - e.g.
+	 *         the correct answers a user ticked. Nothing is allocated.
+	 */
+	public int countCommon(AnswerSet other) {
+		if ((bits == null) && (other.bits == null)) {
+			return Long.bitCount(mask & other.mask);
+		}
+		int n = 0;
+		if (bits == null) {
+			for (long m = mask; m != 0; m &= m - 1) {
+				if (other.get(Long.numberOfTrailingZeros(m))) {
+					n++;
+				}
+			}
+		}
+		else {
+			for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+				if (other.get(i)) {
+					n++;
+				}
+			}
+		}
+		return n;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof AnswerSet)) {
+			return false;
+		}
+		AnswerSet other = (AnswerSet) obj;
+		if ((bits == null) && (other.bits == null)) {
+			return mask == other.mask;
+		}
+		return toBitSet().equals(other.toBitSet());
+	}
+
+	@Override
+	public int hashCode() {
+		return toBitSet().hashCode();
+	}
+
+	private BitSet toBitSet() {
+		return (bits != null) ? bits : toBitSet(mask);
+	}
+
+	/**
+	 * Set each bit of a mask by hand; BitSet.valueOf() needs Java 7.
+	 */
+	private static BitSet toBitSet(long mask) {
+		BitSet b = new BitSet();
+		for (int i = 0; i < 64; i++) {
+			if ((mask & (1L << i)) != 0) {
+				b.set(i);
+			}
+		}
+		return b;
+	}
+
+	@Override
+	public String toString() {
+		return toBitSet().toString();
+	}
+}
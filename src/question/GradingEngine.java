@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * Grades answers to questions, with no Swing involved - the screens of
+ * JQuestions use it for each answer as it is given, and a whole cohort's
+ * saved answers can be re-scored with it in bulk.
+ *
+ * An answer is an AnswerRecord, with any ticked answers given by their
+ * index in the Question's own list (see QuestionView.toIndices()):
+ * - MULTI_CHOICE: correct if exactly the correct answers are ticked.
+ * - DRAG_N_DROP: correct if each field holds the text of its correct
+ *   answer. The fields and their answers are found by the Question when
+ *   it is read (see Question.getBlankAnswer()), so this takes one step
+ *   per field.
+ * The score, from 0 to 1, follows the engine's ScoringRule - usually
+ * the pool's (see forPool()). Under ALL_OR_NOTHING, the default, a
+ * correct answer scores 1 and any other 0; the other rules give credit
+ * for each possible answer or field that is right. An answer is only
+ * counted in parts - the correct answers ticked, the fields filled with
+ * their answer - so scoring one allocates nothing.
+ *
+ * An engine keeps no state between answers, and its rule can't be
+ * changed, so one can be used by any number of threads at once.
+ *
+ * @see AnswerRecord
+ * @see ScoringRule
+ */
+
+public class GradingEngine {
+
+	// Answers graded by each task of scoreAll().
+	private static final int BATCH_SIZE = 16 * 1024;
+
+	private final ScoringRule rule;
+
+	// Percent of the parts that must be right, for THRESHOLD.
+	private final int threshold;
+
+
+	/**
+	 * Create a grading engine that scores all or nothing.
+	 */
+	public GradingEngine() {
+		this(ScoringRule.ALL_OR_NOTHING, 100);
+	}
+
+	/**
+	 * @param rule - how answers are scored.
+	 * @param threshold - for THRESHOLD, the percent of the parts of an 
+	 *                    answer that must be right for it to score 1.
+	 */
+	public GradingEngine(ScoringRule rule, int threshold) {
+		this.rule = rule;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return an engine that scores answers as a pool's settings say.
+	 */
+	public static GradingEngine forPool(QuestionPool qPool) {
+		ScoringRule rule = qPool.getScoringRule();
+		Integer threshold = qPool.getScoringThreshold();
+		return new GradingEngine((rule == null) ? ScoringRule.ALL_OR_NOTHING : rule,
+				(threshold == null) ? 100 : threshold);
+	}
+
+	public ScoringRule getScoringRule() {
+		return rule;
+	}
+
+	public int getScoringThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * @return the score of an answer to a question, from 0 to 1.
+	 */
+	public double score(Question question, AnswerRecord answer) {
+		if (question.getQuestionType() == QuestionType.MULTI_CHOICE) {
+			return scoreSelected(question, answer.getSelected());
+		}
+		if (question.getQuestionType() == QuestionType.DRAG_N_DROP) {
+			List<PossibleAnswer> possibleAnswers = question.getPossibleAnswers();
+			int blanks = 0;
+			int right = 0;
+			int wrong = 0;
+			for (int field = 0; field < question.getNumberOfBlanks(); field++) {
+				int index = question.getBlankAnswer(field);
+				if (index < 0) {
+					continue;
+				}
+				blanks++;
+				String given = answer.getField(field);
+				if (given.equals(possibleAnswers.get(index).getTheAnswer())) {
+					right++;
+				}
+				else
+				if (given.length() > 0) {
+					wrong++;
+				}
+			}
+			return credit(right, wrong, blanks, blanks, blanks);
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Score the possible answers ticked for a MULTI_CHOICE question.
+	 *
+	 * @param selected - the ticked answers, by their index in the Question.
+	 * @return the score, from 0 to 1.
+	 */
+	public double scoreSelected(Question question, AnswerSet selected) {
+		AnswerSet correct = question.getCorrectAnswerSet();
+		int nCorrect = correct.size();
+		int right = selected.countCommon(correct);
+		int wrong = selected.size() - right;
+		return credit(right, wrong, nCorrect + wrong, nCorrect, 
+				question.getNumberOfPossibleAnswers() - nCorrect);
+	}
+
+	/**
+	 * Apply the rule to an answer's parts.
+	 *
+	 * @param right - the parts that are right.
+	 * @param wrong - the parts that are wrong.
+	 * @param parts - all the parts of the answer, right or not.
+	 * @param maxRight - the most parts that could be right.
+	 * @param maxWrong - the most parts that could be wrong.
+	 */
+	private double credit(int right, int wrong, int parts, int maxRight, int maxWrong) {
+		switch (rule) {
+		case PROPORTIONAL:
+			return (parts == 0) ? 1.0 : (double) right / parts;
+		case RIGHT_MINUS_WRONG:
+			double got = (maxRight == 0) ? 1.0 : (double) right / maxRight;
+			double lost = (maxWrong == 0) ? 0.0 : (double) wrong / maxWrong;
+			return Math.max(0.0, got - lost);
+		case THRESHOLD:
+			return (right * 100 >= threshold * parts) ? 1.0 : 0.0;
+		default:
+			return ((right == maxRight) && (wrong == 0)) ? 1.0 : 0.0;
+		}
+	}
+
+	/**
+	 * @return does an answer to a question score full marks ?
+	 */
+	public boolean isCorrect(Question question, AnswerRecord answer) {
+		return score(question, answer) >= 1.0;
+	}
+
+	/**
+	 * Score many answers at once, on several threads.
+	 *
+	 * @param questions - the question of each answer; the same Question
+	 *                    may appear any number of times.
+	 * @param answers - the answers, one for each entry of questions.
+	 * @param nThreads - the number of threads to grade on.
+	 * @return the score of each answer.
+	 * @throws InterruptedException if interrupted while waiting for the
+	 *                              threads to finish.
+	 */
+	public double[] scoreAll(final List<? extends Question> questions, 
+			final List<AnswerRecord> answers, int nThreads) throws InterruptedException {
+		if (questions.size() != answers.size()) {
+			throw new IllegalArgumentException("Have " + questions.size() 
+					+ " questions for " + answers.size() + " answers");
+		}
+		final double[] scores = new double[answers.size()];
+
+		if ((nThreads <= 1) || (scores.length <= BATCH_SIZE)) {
+			scoreRange(questions, answers, scores, 0, scores.length);
+			return scores;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<Object>> futures = new ArrayList<Future<Object>>();
+			for (int start = 0; start < scores.length; start += BATCH_SIZE) {
+				final int from = start;
+				final int to = Math.min(start + BATCH_SIZE, scores.length);
+				futures.add(executor.submit(new Callable<Object>() {
+					public Object call() {
+						scoreRange(questions, answers, scores, from, to);
+						return null;
+					}
+				}));
+			}
+			for (Future<Object> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+		return scores;
+	}
+
+	private void scoreRange(List<? extends Question> questions, List<AnswerRecord> answers,
+			double[] scores, int from, int to) {
+		for (int i = from; i < to; i++) {
+			scores[i] = score(questions.get(i), answers.get(i));
+		}
+	}
+}
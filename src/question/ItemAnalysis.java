@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Classical item statistics for the questions of a pool, gathered from
+ * the answers of many students in one pass - e.g. after a sitting, to
+ * find questions that are too easy, too hard, or don't tell the good
+ * students from the rest.
+ *
+ * For each question:
+ * - p-value: its mean score (see GradingEngine), i.e. how easy it is.
+ * - Discrimination: the point-biserial correlation of its score with the
+ *   student's score on the rest of the test - the corrected item-total
+ *   correlation, so a question isn't counted against itself.
+ * - Selection rate of each possible answer: how often it was ticked, or
+ *   dropped into a field, per attempt. A distractor that is never chosen
+ *   isn't doing its job.
+ *
+ * Answers are given one student at a time: beginStudent(), addAnswer()
+ * for each question the student answered, then endStudent(). Only that
+ * student's scores are kept until endStudent(); after that, each
+ * question just has running moments (Welford's method, so they stay
+ * accurate over many students) and a counter for each possible answer.
+ * So memory depends on the size of the pool, not the number of
+ * students. An ItemAnalysis is not thread-safe; to use several threads,
+ * split the students between one ItemAnalysis per thread, then merge()
+ * the results.
+ *
+ * @see GradingEngine
+ */
+
+public class ItemAnalysis {
+
+	// The pool's questions, by index.
+	private final Question[] questions;
+	private final GradingEngine engine;
+
+	private long students;
+
+	// For each question, over the students who answered it: how many, 
+	// the means of its score (x) and of their rest score (t), the sums of 
+	// squared deviations, and the sum of the products of deviations.
+	private final long[] n;
+	private final double[] meanX;
+	private final double[] meanT;
+	private final double[] m2X;
+	private final double[] m2T;
+	private final double[] cXT;
+
+	// For each question, the number of times each possible answer was 
+	// chosen.
+	private final long[][] chosen;
+
+	// The index of each possible answer of a DRAG_N_DROP question, by its
+	// text; made when first needed.
+	private final Map<Integer, Map<String, Integer>> answerIndices =
+			new HashMap<Integer, Map<String, Integer>>();
+
+	// The current student's questions and scores.
+	private int[] studentQuestions = new int[64];
+	private double[] studentScores = new double[64];
+	private int studentAnswers = -1;       // -1 when no student is begun.
+	private double studentTotal;
+
+
+	/**
+	 * Analyse answers scored by the pool's own scoring rule.
+	 */
+	public ItemAnalysis(QuestionPool qPool) {
+		this(qPool, GradingEngine.forPool(qPool));
+	}
+
+	/**
+	 * @param qPool - the pool the answers are to; questions are given by 
+	 *                their index in it.
+	 * @param engine - scores the answers.
+	 */
+	public ItemAnalysis(QuestionPool qPool, GradingEngine engine) {
+		this.engine = engine;
+		int size = qPool.getSize();
+		questions = new Question[size];
+		n = new long[size];
+		meanX = new double[size];
+		meanT = new double[size];
+		m2X = new double[size];
+		m2T = new double[size];
+		cXT = new double[size];
+		chosen = new long[size][];
+		for (int q = 0; q < size; q++) {
+			questions[q] = qPool.getQuestion(q);
+			chosen[q] = new long[questions[q].getNumberOfPossibleAnswers()];
+		}
+	}
+
+	public void beginStudent() {
+		if (studentAnswers >= 0) {
+			throw new IllegalStateException("The last student wasn't ended");
+		}
+		studentAnswers = 0;
+		studentTotal = 0.0;
+	}
+
+	/**
+	 * Add the current student's answer to a question.
+	 *
+	 * @param question - the question's index in the pool.
+	 * @param answer - the answer, with any ticked answers by their index
+	 *                 in the Question (see QuestionView.toIndices()).
+	 */
+	public void addAnswer(int question, AnswerRecord answer) {
+		if (studentAnswers < 0) {
+			throw new IllegalStateException("No student was begun");
+		}
+		Question q = questions[question];
+		double score = engine.score(q, answer);
+		countChoices(question, q, answer);
+
+		if (studentAnswers == studentQuestions.length) {
+			int[] questions = new int[studentAnswers * 2];
+			double[] scores = new double[studentAnswers * 2];
+			System.arraycopy(studentQuestions, 0, questions, 0, studentAnswers);
+			System.arraycopy(studentScores, 0, scores, 0, studentAnswers);
+			studentQuestions = questions;
+			studentScores = scores;
+		}
+		studentQuestions[studentAnswers] = question;
+		studentScores[studentAnswers++] = score;
+		studentTotal += score;
+	}
+
+	/**
+	 * Add the current student's scores to the statistics, now that their
+	 * total is known.
+	 */
+	public void endStudent() {
+		if (studentAnswers < 0) {
+			throw new IllegalStateException("No student was begun");
+		}
+		for (int i = 0; i < studentAnswers; i++) {
+			int q = studentQuestions[i];
+			double x = studentScores[i];
+			double t = studentTotal - x;
+			long count = ++n[q];
+			double dx = x - meanX[q];
+			double dt = t - meanT[q];
+			meanX[q] += dx / count;
+			meanT[q] += dt / count;
+			m2X[q] += dx * (x - meanX[q]);
+			m2T[q] += dt * (t - meanT[q]);
+			cXT[q] += dx * (t - meanT[q]);
+		}
+		students++;
+		studentAnswers = -1;
+	}
+
+	/**
+	 * Count the possible answers chosen in an answer.
+	 */
+	private void countChoices(int question, Question q, AnswerRecord answer) {
+		long[] counts = chosen[question];
+		if (q.getQuestionType() == QuestionType.MULTI_CHOICE) {
+			AnswerSet selected = answer.getSelected();
+			for (int i = 0; i < counts.length; i++) {
+				if (selected.get(i)) {
+					counts[i]++;
+				}
+			}
+		}
+		else
+		if (q.getQuestionType() == QuestionType.DRAG_N_DROP) {
+			Map<String, Integer> indices = getAnswerIndices(question, q);
+			for (String field : answer.getFields()) {
+				Integer index = (field == null) ? null : indices.get(field);
+				if (index != null) {
+					counts[index]++;
+				}
+			}
+		}
+	}
+
+	private Map<String, Integer> getAnswerIndices(int question, Question q) {
+		Map<String, Integer> indices = answerIndices.get(question);
+		if (indices == null) {
+			indices = new HashMap<String, Integer>();
+			List<PossibleAnswer> possibleAnswers = q.getPossibleAnswers();
+			for (int i = possibleAnswers.size() - 1; i >= 0; i--) {
+				indices.put(possibleAnswers.get(i).getTheAnswer(), i);
+			}
+			answerIndices.put(question, indices);
+		}
+		return indices;
+	}
+
+	/**
+	 * Add in the statistics of another analysis of the same pool, e.g. one
+	 * of other students made on another thread (Chan's method).
+	 */
+	public void merge(ItemAnalysis other) {
+		if (other.n.length != n.length) {
+			throw new IllegalArgumentException("Not an analysis of the same pool");
+		}
+		for (int q = 0; q < n.length; q++) {
+			long na = n[q];
+			long nb = other.n[q];
+			if (nb == 0) {
+				continue;
+			}
+			long count = na + nb;
+			double dx = other.meanX[q] - meanX[q];
+			double dt = other.meanT[q] - meanT[q];
+			double weight = (double) na * nb / count;
+			meanX[q] += dx * nb / count;
+			meanT[q] += dt * nb / count;
+			m2X[q] += other.m2X[q] + dx * dx * weight;
+			m2T[q] += other.m2T[q] + dt * dt * weight;
+			cXT[q] += other.cXT[q] + dx * dt * weight;
+			n[q] = count;
+			for (int i = 0; i < chosen[q].length; i++) {
+				chosen[q][i] += other.chosen[q][i];
+			}
+		}
+		students += other.students;
+	}
+
+	/**
+	 * @return the number of students ended so far.
+	 */
+	public long getStudents() {
+		return students;
+	}
+
+	/**
+	 * @return the number of students who answered a question.
+	 */
+	public long getAttempts(int question) {
+		return n[question];
+	}
+
+	/**
+	 * @return the mean score of a question, from 0 (nobody got it) to 1
+	 *         (everybody did); NaN if nobody answered it.
+	 */
+	public double getPValue(int question) {
+		return (n[question] == 0) ? Double.NaN : meanX[question];
+	}
+
+	/**
+	 * @return the correlation, from -1 to 1, of a question's score with
+	 *         the score on the rest of the test; NaN if every student who
+	 *         answered it scored the same on it, or on the rest.
+	 */
+	public double getDiscrimination(int question) {
+		double d = Math.sqrt(m2X[question] * m2T[question]);
+		return (d == 0.0) ? Double.NaN : cXT[question] / d;
+	}
+
+	/**
+	 * @return how often a possible answer was chosen, per attempt at the
+	 *         question - for a DRAG_N_DROP question, the number of fields
+	 *         it was dropped into per attempt; NaN if nobody answered it.
+	 */
+	public double getSelectionRate(int question, int possibleAnswer) {
+		long attempts = n[question];
+		return (attempts == 0) ? Double.NaN
+				: (double) chosen[question][possibleAnswer] / attempts;
+	}
+
+	/**
+	 * @return the number of times a possible answer was chosen.
+	 */
+	public long getSelections(int question, int possibleAnswer) {
+		return chosen[question][possibleAnswer];
+	}
+}
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under 
+ * the GNU General Public License, Version 3.0 (the "License"); you may 
+ * not use this file except in compliance with the License.  You may obtain 
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A QuestionPool whose questions stay on disk until they are asked for.
+ *
+ * Only the QuestionSource (e.g. the offset table of an indexed .jqs file)
+ * is kept in memory. Each Question, with its QuestionContent (the Swing
+ * document is only built when it is displayed), is constructed the first 
+ * time getQuestion(index) is called for it, and kept in a bounded, 
+ * least-recently-used cache.
+ *
+ * Once a question has been evicted from the cache the next getQuestion()
+ * call constructs it again, from the file. That is safe because nothing
+ * changes a question read from a pool: JQuestions keeps the order each
+ * question's answers are shown in, and the user's answers, in its 
+ * UserAnswer, not in the Question. JQuestions Editor does change 
+ * questions in place, and so always uses an ordinary QuestionPool.
+ * 
+ * Questions added with addQuestion() are held in memory, after those of 
+ * the source. Questions read from the source can't be deleted or replaced.
+ *
+ * The id of a question read from the source is its index in the source.
+ * Added questions are numbered on from there.
+ *
+ * The methods that read or change the cache and the added questions are
+ * synchronized, so one thread can read the pool while another adds or
+ * deletes questions.
+ *
+ * @see QuestionPool
+ * @see QuestionSource
+ */
+
+public class LazyQuestionPool extends QuestionPool {
+
+	// Default number of constructed questions to keep.
+	public static final int DEFAULT_CACHE_SIZE = 64;
+
+	private QuestionSource source;
+	private int sourceCount;
+
+	// Constructed questions, by index, least recently used first.
+	private final Map<Integer, Question> cache;
+
+	// Questions added after the pool was opened.
+	private final List<Question> added = new ArrayList<Question>();
+
+	// ...and their ids.
+	private final List<Integer> addedIds = new ArrayList<Integer>();
+
+	// Id for the next question added.
+	private int nextId;
+
+	// Have the source's questions been added to the index ?
+	private boolean sourceIndexed = false;
+
+
+	public LazyQuestionPool(QuestionSource source) {
+		this(source, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param source - where the questions are read from.
+	 * @param cacheSize - the maximum number of constructed questions kept.
+	 */
+	public LazyQuestionPool(QuestionSource source, final int cacheSize) {
+		this.source = source;
+		sourceCount = source.getQuestionCount();
+		nextId = sourceCount;
+		
+		cache = new LinkedHashMap<Integer, Question>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Question> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	@Override
+	public synchronized boolean addQuestion(Question newQuestion) {
+		int id = nextId++;
+		addedIds.add(id);
+		indexQuestion(id, newQuestion);
+		listChanged();
+		return added.add(newQuestion);
+	}
+
+	/**
+	 * Only questions added with addQuestion() can be deleted.
+	 * 
+	 * @param theQuestion - the Question to be deleted from the pool.
+	 * @return result - did the delete succeed or fail ?
+	 */
+	@Override
+	public synchronized boolean deleteQuestion(Question theQuestion) {
+		int index = added.indexOf(theQuestion);
+		if (index < 0) {
+			return false;
+		}
+		added.remove(index);
+		unindexQuestion(addedIds.remove(index));
+		listChanged();
+		return true;
+	}
+
+	/**
+	 * Only questions added with addQuestion() can be deleted.
+	 * 
+	 * @param questions - the Questions to be deleted from the pool.
+	 * @return the number of questions deleted.
+	 */
+	@Override
+	public synchronized int deleteQuestions(Collection<Question> questions) {
+		Set<Question> toDelete = 
+			Collections.newSetFromMap(new IdentityHashMap<Question, Boolean>());
+		toDelete.addAll(questions);
+
+		int kept = 0;
+		for (int i = 0; i < added.size(); i++) {
+			if (toDelete.contains(added.get(i))) {
+				unindexQuestion(addedIds.get(i));
+			}
+			else {
+				added.set(kept, added.get(i));
+				addedIds.set(kept, addedIds.get(i));
+				kept++;
+			}
+		}
+
+		int deleted = added.size() - kept;
+		added.subList(kept, added.size()).clear();
+		addedIds.subList(kept, addedIds.size()).clear();
+		if (deleted > 0) {
+			listChanged();
+		}
+		return deleted;
+	}
+
+	/**
+	 * Only questions added with addQuestion() can be replaced.
+	 * 
+	 * @param index
+	 * @param theQuestion - the new Question.
+	 * @return result - did the replace succeed or fail ?
+	 */
+	@Override
+	public synchronized boolean setQuestion(int index, Question theQuestion) {
+		if (index < sourceCount || index >= getSize()) {
+			return false;
+		}
+		added.set(index - sourceCount, theQuestion);
+		int id = addedIds.get(index - sourceCount);
+		unindexQuestion(id);
+		indexQuestion(id, theQuestion);
+		listChanged();
+		return true;
+	}
+
+	/**
+	 * Get a question based on its position (index), reading it from the
+	 * source if it isn't in the cache.
+	 * 
+	 * @param index
+	 * @return The Question record return null if a problem.
+	 */
+	@Override
+	public synchronized Question getQuestion(int index) {
+		Question q = null;
+
+		if (index < 0 || index >= getSize()) {
+			return null;     // Return null.
+		}
+		if (index >= sourceCount) {
+			return added.get(index - sourceCount);
+		}
+
+		q = cache.get(index);
+		if (q == null) {
+			try {
+				q = source.readQuestion(index);
+				cache.put(index, q);
+			} catch (IOException ioe) {
+				System.out.println("ERROR Reading Question " + index + ": " + ioe);
+				ioe.printStackTrace();
+			}
+		}
+
+		return q;
+	}
+
+	/**
+	 * Only the questions added, and those still in the cache, are 
+	 * searched; a question read from the source that has since been 
+	 * evicted is not found.
+	 * 
+	 * @param theQuestion
+	 * @return its index, or -1 if it isn't found.
+	 */
+	@Override
+	public synchronized int indexOf(Question theQuestion) {
+		int index = added.indexOf(theQuestion);
+		if (index >= 0) {
+			return sourceCount + index;
+		}
+		for (Map.Entry<Integer, Question> entry : cache.entrySet()) {
+			if (entry.getValue() == theQuestion) {
+				return entry.getKey();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public synchronized int getQuestionId(int index) {
+		if (index < 0 || index >= getSize()) {
+			return -1;
+		}
+		if (index >= sourceCount) {
+			return addedIds.get(index - sourceCount);
+		}
+		return index;
+	}
+
+	@Override
+	public synchronized Question getQuestionById(int id) {
+		if (id >= 0 && id < sourceCount) {
+			return getQuestion(id);
+		}
+		int index = addedIds.indexOf(id);
+		return (index < 0) ? null : added.get(index);
+	}
+
+	/**
+	 * The source's questions are indexed the first time the index is 
+	 * used, from the tags and difficulty the source gives for each.
+	 */
+	@Override
+	protected synchronized void checkIndex() {
+		if (sourceIndexed) {
+			return;
+		}
+		for (int i = 0; i < sourceCount; i++) {
+			try {
+				indexQuestion(i, source.getTags(i), source.getDifficulty(i));
+			} catch (IOException ioe) {
+				System.out.println("ERROR Reading Question " + i + ": " + ioe);
+				ioe.printStackTrace();
+			}
+		}
+		sourceIndexed = true;
+	}
+
+	@Override
+	public synchronized int getSize() {
+		return sourceCount + added.size();
+	}
+
+	/**
+	 * Remove all Questions and close the source.
+	 */
+	@Override
+	public synchronized void removeAllQuestions() {
+		super.removeAllQuestions();
+		cache.clear();
+		added.clear();
+		addedIds.clear();
+		sourceCount = 0;
+		if (source != null) {
+			try {
+				source.close();
+			} catch (IOException ioe) {
+				// don't care
+			}
+			source = null;
+		}
+	}
+
+	/**
+	 * Print all questions. Every question is constructed (but not all
+	 * are kept).
+	 * 
+	 * @param doAnalyze
+	 */
+	@Override
+	public void printAllQuestions(boolean doAnalyze) {
+		for (int i = 0; i < getSize(); i++) {
+			Question q = getQuestion(i);
+			if (q == null) {
+				continue;
+			}
+			System.out.println(q.toString());
+			if (doAnalyze) {
+			    q.analyzeDoc();
+			}
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.List;
+
+
+/**
+ * A version of a QuestionPool that never changes, so any number of
+ * threads - e.g. quiz sessions - can read it at once, without locking,
+ * while the pool it was taken from goes on being edited.
+ *
+ * It holds its own copies of the questions (see Question.createSnapshot),
+ * with the same ids as in the pool, and a copy of the pool's settings.
+ * Its index is complete when it is made, so reading it changes nothing.
+ * Any attempt to change it throws an UnsupportedOperationException.
+ *
+ * Snapshots are made and handed out by utils.QuestionPoolPublisher; one
+ * stays usable for as long as anyone holds it, whatever versions are
+ * published after it.
+ *
+ * @see QuestionPool
+ */
+
+public class PoolSnapshot extends QuestionPool {
+
+	private final long version;
+
+	// Set once the snapshot is complete; from then on it can't be changed.
+	private boolean sealed = false;
+
+
+	/**
+	 * @param source - the pool the snapshot is a version of, for its 
+	 *                 settings and question ids.
+	 * @param questions - copies of the pool's questions, in order.
+	 * @param version - the version number.
+	 */
+	public PoolSnapshot(QuestionPool source, List<Question> questions, long version) {
+		this.version = version;
+		setDescriptionText(source.getDescriptionText());
+		setIsChangeAllowed(source.getIsChangeAllowed());
+		setIsExam(source.getIsExam());
+		setTimed(source.getTimed());
+		setTimeLimit(source.getTimeLimit());
+		setDisplayFinalScore(source.getDisplayFinalScore());
+		setDisplayPrintOption(source.getDisplayPrintOption());
+		setStudentName(source.getStudentName());
+		setNumberOfQuestions(source.getNumberOfQuestions());
+		setScoringRule(source.getScoringRule());
+		setScoringThreshold(source.getScoringThreshold());
+		setSampling(source.getSampling());
+
+		for (int i = 0; i < questions.size(); i++) {
+			addQuestion(questions.get(i), source.getQuestionId(i));
+		}
+		checkIndex();
+		sealed = true;
+	}
+
+	/**
+	 * @return the version number; a later snapshot of the same pool has
+	 *         a higher one.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	protected void checkWritable() {
+		if (sealed) {
+			throw new UnsupportedOperationException(
+					"A pool snapshot can't be changed");
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * The main display text of a Question, as plain data: the text itself,
+ * the images embedded in it and the blanks (drag-n-drop answer fields).
+ *
+ * This is what the .jqs readers construct. Unlike a DefaultStyledDocument
+ * it needs no Swing or AWT classes, so a pool can be loaded by a headless
+ * process. The GUIs turn it into a document only when the question is
+ * displayed - see utils.DocumentUtils.
+ *
+ * The text holds one placeholder char at the position of each image and
+ * blank; the runs of text between them are displayed as they are.
+ *
+ * @see Question
+ */
+
+public class QuestionContent {
+
+	private final String text;
+	private final List<ImageRef> images;
+	private final List<Blank> blanks;
+
+
+	/**
+	 * @param text - the text, with a placeholder char for each image and blank.
+	 * @param images - the images, in any order.
+	 * @param blanks - the blanks, in any order.
+	 */
+	public QuestionContent(String text, List<ImageRef> images, List<Blank> blanks) {
+		this.text = text;
+		this.images = sortedByPosition(images);
+		this.blanks = sortedByPosition(blanks);
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return the images, in the order they appear in the text.
+	 */
+	public List<ImageRef> getImages() {
+		return images;
+	}
+
+	/**
+	 * @return the blanks, in the order they appear in the text.
+	 */
+	public List<Blank> getBlanks() {
+		return blanks;
+	}
+
+	private static <T extends Embedded> List<T> sortedByPosition(List<T> list) {
+		List<T> sorted = new ArrayList<T>(list);
+		Collections.sort(sorted, new Comparator<Embedded>() {
+			public int compare(Embedded a, Embedded b) {
+				return a.position < b.position ? -1 : (a.position == b.position ? 0 : 1);
+			}
+		});
+		return Collections.unmodifiableList(sorted);
+	}
+
+
+	/**
+	 * Something shown at one char position of the text.
+	 */
+	public abstract static class Embedded {
+		private final int position;
+
+		Embedded(int position) {
+			this.position = position;
+		}
+
+		public int getPosition() {
+			return position;
+		}
+	}
+
+	/**
+	 * An image, held as PNG data. Questions that show the same image
+	 * may share the same array, which must not be modified.
+	 */
+	public static class ImageRef extends Embedded {
+		private final int width;
+		private final int height;
+		private final byte[] png;
+
+		public ImageRef(int position, int width, int height, byte[] png) {
+			super(position);
+			this.width = width;
+			this.height = height;
+			this.png = png;
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		public int getHeight() {
+			return height;
+		}
+
+		public byte[] getPNG() {
+			return png;
+		}
+	}
+
+	/**
+	 * A blank the user drops an answer into. For a saved question the
+	 * text is the possible answer that belongs there.
+	 */
+	public static class Blank extends Embedded {
+		private final String text;
+
+		public Blank(int position, String text) {
+			super(position);
+			this.text = text;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+}
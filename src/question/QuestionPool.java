@@ -17,8 +17,19 @@
 
 package question;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 
 /**
@@ -36,6 +47,19 @@ import java.util.List;
  * hints available ('Quiz' mode) or not ('Exam mode), amongst others.    
  * These are also stored in with the QuestionPool. 
  *   
+ * The list is array based, so getting a question by its index takes the
+ * same time however large the pool is. Each question is also given a 
+ * numeric id when it is added, which stays the same while it is in the 
+ * pool, even as other questions are added or deleted before it. A 
+ * question should be added to a pool only once.
+ *
+ * The pool also keeps an inverted index of the questions' tags and 
+ * difficulty: for each tag, and each difficulty, the set of ids of the 
+ * questions that have it. So a selection such as "questions tagged 
+ * threads or generics, with difficulty 3 or less" is made by combining 
+ * a few sets (see findQuestionIds) rather than by looking at every 
+ * question.
+ *   
  * @author Ken Williams <jquestions@truerandomness.com>
  * @see Question
  * @see IOUtils
@@ -47,6 +71,30 @@ public class QuestionPool {
 	// The question 'pool' is essentially a List. 
 	private List<Question> qList;  
 
+	// Id of the question at each position in qList.
+	private List<Integer> idList;
+
+	// Question with each id.
+	private Map<Integer, Question> questionsById;
+
+	// Position of each question, or null when it must be rebuilt 
+	// (after a delete).
+	private Map<Question, Integer> positions;
+
+	// Id for the next question added.
+	private int nextId = 0;
+
+	// Counts the changes made to the list (adds, deletes and replaces) 
+	// and to its index, so a user of the pool can tell whether it has 
+	// changed.
+	private int modCount = 0;
+
+	// Inverted index: ids of all the questions, of the questions with 
+	// each tag, and of those with each difficulty.
+	private BitSet allIds = new BitSet();
+	private Map<String, BitSet> tagIndex = new HashMap<String, BitSet>();
+	private SortedMap<Integer, BitSet> difficultyIndex = new TreeMap<Integer, BitSet>();
+
 	// Current Configuration Settings for this Question pool.
 	private String descriptionText;
 	private Boolean isChangeAllowed;
@@ -57,9 +105,15 @@ public class QuestionPool {
 	private Boolean displayPrintOption;
 	private String studentName;
 	private Integer numberOfQuestions;	
+	private ScoringRule scoringRule;
+	private Integer scoringThreshold;   // Percent, for ScoringRule.THRESHOLD.
+	private String sampling;            // See QuestionSampler.setSpec().
 	
 	public QuestionPool() {
-		qList = new LinkedList<Question>();
+		qList = new ArrayList<Question>();
+		idList = new ArrayList<Integer>();
+		questionsById = new HashMap<Integer, Question>();
+		positions = new IdentityHashMap<Question, Integer>();
 		initConfigurationSettings();     // init to default values.
 	}
 	
@@ -68,8 +122,29 @@ public class QuestionPool {
 	 * @return result - did the add succeed or fail ?
 	 */
 	public boolean addQuestion(Question newQuestion) {		
+		return addQuestion(newQuestion, nextId);
+	}
+
+	/**
+	 * Add a question with a given id, e.g. to copy a pool and keep its 
+	 * ids. The id must not be in use.
+	 * 
+	 * @param newQuestion
+	 * @param id
+	 * @return result - did the add succeed or fail ?
+	 */
+	protected boolean addQuestion(Question newQuestion, int id) {		
+		checkWritable();
 		boolean result = false;		
+		nextId = Math.max(nextId, id + 1);
 		result = qList.add(newQuestion);			
+		idList.add(id);
+		questionsById.put(id, newQuestion);
+		if (positions != null) {
+			positions.put(newQuestion, qList.size() - 1);
+		}
+		indexQuestion(id, newQuestion);
+		listChanged();
 		return result;
 	}
 
@@ -79,8 +154,81 @@ public class QuestionPool {
 	 * @return result - did the add succeed or fail ?
 	 */
 	public boolean deleteQuestion(Question theQuestion) {
+		checkWritable();
 		boolean result = false;		
-		result = qList.remove(theQuestion);		
+		int index = indexOf(theQuestion);
+		if (index >= 0) {
+			qList.remove(index);
+			int id = idList.remove(index);
+			questionsById.remove(id);
+			unindexQuestion(id);
+			positions = null;
+			listChanged();
+			result = true;
+		}
+		return result;
+	}
+
+	/**
+	 * Delete a number of questions at once. The list is compacted in 
+	 * one pass, however many questions are deleted. 
+	 * 
+	 * @param questions - the Questions to be deleted from the pool.
+	 * @return the number of questions deleted.
+	 */
+	public int deleteQuestions(Collection<Question> questions) {
+		checkWritable();
+		Set<Question> toDelete = 
+			Collections.newSetFromMap(new IdentityHashMap<Question, Boolean>());
+		toDelete.addAll(questions);
+
+		int kept = 0;
+		for (int i = 0; i < qList.size(); i++) {
+			Question q = qList.get(i);
+			if (toDelete.contains(q)) {
+				questionsById.remove(idList.get(i));
+				unindexQuestion(idList.get(i));
+			}
+			else {
+				qList.set(kept, q);
+				idList.set(kept, idList.get(i));
+				kept++;
+			}
+		}
+
+		int deleted = qList.size() - kept;
+		if (deleted > 0) {
+			qList.subList(kept, qList.size()).clear();
+			idList.subList(kept, idList.size()).clear();
+			positions = null;
+			listChanged();
+		}
+		return deleted;
+	}
+
+	/**
+	 * Replace the question at the given position (index).
+	 * The new question takes over the id of the old one.
+	 * 
+	 * @param index
+	 * @param theQuestion - the new Question.
+	 * @return result - did the replace succeed or fail ?
+	 */
+	public boolean setQuestion(int index, Question theQuestion) {
+		checkWritable();
+		boolean result = false;
+		if ((index >= 0) && (index < qList.size())) {
+			Question old = qList.set(index, theQuestion);
+			questionsById.put(idList.get(index), theQuestion);
+			unindexQuestion(idList.get(index));
+			indexQuestion(idList.get(index), theQuestion);
+			listChanged();
+			if (positions != null) {
+				positions.remove(old);
+				positions.put(theQuestion, index);
+			}
+			result = true;
+		}
 		return result;
 	}
 
@@ -93,21 +241,255 @@ public class QuestionPool {
 	public Question getQuestion(int index) {
 		Question q = null;
 		
-		try {
+		if ((index >= 0) && (index < qList.size())) {
 			q = qList.get(index);
-		} catch (IndexOutOfBoundsException obe) {
-            q = null;    // Return null.			
-		} catch (Exception e) {
-			e.printStackTrace();
 		}
 		
 		return q;
 	}
+
+	/**
+	 * Get the position (index) of a question in the List.
+	 * 
+	 * @param theQuestion
+	 * @return its index, or -1 if it isn't in the pool.
+	 */
+	public int indexOf(Question theQuestion) {
+		if (positions == null) {
+			positions = new IdentityHashMap<Question, Integer>();
+			for (int i = 0; i < qList.size(); i++) {
+				positions.put(qList.get(i), i);
+			}
+		}
+		Integer index = positions.get(theQuestion);
+		return (index == null) ? -1 : index;
+	}
+
+	/**
+	 * Get the id of the question at a position (index).
+	 * 
+	 * @param index
+	 * @return its id, or -1 if there is no question at that index.
+	 */
+	public int getQuestionId(int index) {
+		if ((index >= 0) && (index < idList.size())) {
+			return idList.get(index);
+		}
+		return -1;
+	}
+
+	/**
+	 * Get a question by its id.
+	 * 
+	 * @param id
+	 * @return The Question record, or null if none has that id.
+	 */
+	public Question getQuestionById(int id) {
+		return questionsById.get(id);
+	}
 	
 	public int getSize() {
 		return qList.size();
 	}
 	
+	/**
+	 * @return the number of changes (adds, deletes and replaces) made 
+	 *         to the list so far, and of updates to the index. Other 
+	 *         changes to the questions themselves are not counted.
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * Called before any change is made to the pool, so a subclass that 
+	 * can't be changed can refuse it.
+	 * 
+	 * @throws UnsupportedOperationException if the pool can't be changed.
+	 */
+	protected void checkWritable() {
+	}
+
+	/**
+	 * Note a change to the list.
+	 */
+	protected void listChanged() {
+		modCount++;
+	}
+	
+	/**
+	 * Bring the index up to date after the tags or difficulty of a 
+	 * question in the pool have been changed.
+	 * 
+	 * @param theQuestion
+	 */
+	public void updateIndex(Question theQuestion) {
+		checkWritable();
+		int id = getQuestionId(indexOf(theQuestion));
+		if (id >= 0) {
+			unindexQuestion(id);
+			indexQuestion(id, theQuestion);
+			listChanged();
+		}
+	}
+
+	/**
+	 * @return every tag used by a question in the pool, in alphabetical order.
+	 */
+	public Set<String> getAllTags() {
+		checkIndex();
+		return new TreeSet<String>(tagIndex.keySet());
+	}
+
+	/**
+	 * Find the questions with some tags and no more than a given difficulty.
+	 * 
+	 * @param tags - the tags wanted; if empty, questions with any tags match.
+	 * @param matchAll - must a question have all the tags, or just one ?
+	 * @param maxDifficulty - the highest difficulty wanted; questions that 
+	 *                        are not rated (0) always match. If negative, 
+	 *                        any difficulty matches.
+	 * @return the ids of the matching questions. The set is a copy, which 
+	 *         the caller may change.
+	 */
+	public BitSet findQuestionIds(Collection<String> tags, boolean matchAll, 
+			int maxDifficulty) {
+		checkIndex();
+		BitSet result;
+		if (tags.isEmpty()) {
+			result = (BitSet) allIds.clone();
+		}
+		else {
+			result = new BitSet();
+			boolean first = true;
+			for (String tag : tags) {
+				BitSet ids = tagIndex.get(tag.trim());
+				if (ids == null) {
+					ids = new BitSet();
+				}
+				if (first) {
+					result.or(ids);
+					first = false;
+				}
+				else 
+				if (matchAll) {
+					result.and(ids);
+				}
+				else {
+					result.or(ids);
+				}
+			}
+		}
+
+		if (maxDifficulty >= 0) {
+			BitSet easyEnough = new BitSet();
+			for (BitSet ids : difficultyIndex.headMap(maxDifficulty + 1).values()) {
+				easyEnough.or(ids);
+			}
+			result.and(easyEnough);
+		}
+		return result;
+	}
+
+	/**
+	 * @param difficulty - from 1 (easiest) up, or 0 for not rated.
+	 * @return the ids of the questions of exactly that difficulty. The set
+	 *         is a copy, which the caller may change.
+	 */
+	public BitSet getDifficultyIds(int difficulty) {
+		checkIndex();
+		BitSet ids = difficultyIndex.get(difficulty);
+		return (ids == null) ? new BitSet() : (BitSet) ids.clone();
+	}
+
+	/**
+	 * Get the first questions, in id order, with some tags and no more 
+	 * than a given difficulty. See findQuestionIds().
+	 * 
+	 * @param tags
+	 * @param matchAll
+	 * @param maxDifficulty
+	 * @param count - the most questions to return; 0 for all that match.
+	 * @return the matching questions.
+	 */
+	public List<Question> findQuestions(Collection<String> tags, boolean matchAll, 
+			int maxDifficulty, int count) {
+		BitSet ids = findQuestionIds(tags, matchAll, maxDifficulty);
+		List<Question> questions = new ArrayList<Question>();
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			if ((count > 0) && (questions.size() >= count)) {
+				break;
+			}
+			Question q = getQuestionById(id);
+			if (q != null) {
+				questions.add(q);
+			}
+		}
+		return questions;
+	}
+
+	/**
+	 * Called before the index is used, so a subclass can build it 
+	 * only when it is needed.
+	 */
+	protected void checkIndex() {
+	}
+
+	/**
+	 * Add a question's tags and difficulty to the index.
+	 * 
+	 * @param id - the question's id.
+	 * @param tags
+	 * @param difficulty
+	 */
+	protected void indexQuestion(int id, Collection<String> tags, Integer difficulty) {
+		allIds.set(id);
+		for (String tag : tags) {
+			BitSet ids = tagIndex.get(tag);
+			if (ids == null) {
+				ids = new BitSet();
+				tagIndex.put(tag, ids);
+			}
+			ids.set(id);
+		}
+
+		int d = (difficulty == null) ? 0 : difficulty;
+		BitSet ids = difficultyIndex.get(d);
+		if (ids == null) {
+			ids = new BitSet();
+			difficultyIndex.put(d, ids);
+		}
+		ids.set(id);
+	}
+
+	protected void indexQuestion(int id, Question q) {
+		indexQuestion(id, q.getTags(), q.getDifficulty());
+	}
+
+	/**
+	 * Remove a question from the index.
+	 * 
+	 * @param id - the question's id.
+	 */
+	protected void unindexQuestion(int id) {
+		if (!allIds.get(id)) {
+			return;
+		}
+		allIds.clear(id);
+		removeId(tagIndex.values(), id);
+		removeId(difficultyIndex.values(), id);
+	}
+
+	private static void removeId(Collection<BitSet> sets, int id) {
+		for (Iterator<BitSet> it = sets.iterator(); it.hasNext(); ) {
+			BitSet ids = it.next();
+			ids.clear(id);
+			if (ids.isEmpty()) {
+				it.remove();
+			}
+		}
+	}
+	
 
 	/**
 	 * Initialize the configuration values to various default settings. 
@@ -124,13 +506,24 @@ public class QuestionPool {
         displayPrintOption = new Boolean(true);
         studentName = "Student Name";
         numberOfQuestions = new Integer(0);   // zero means 'All' questions.		
+        scoringRule = ScoringRule.ALL_OR_NOTHING;
+        scoringThreshold = Integer.valueOf(100);
+        sampling = "";                        // Every question equally likely.
 	}
 	
 	/**
 	 * Remove all Questions from the List.
      */
 	public void removeAllQuestions() {		
+		checkWritable();
         qList.clear();
+        idList.clear();
+        questionsById.clear();
+        positions = new IdentityHashMap<Question, Integer>();
+        allIds.clear();
+        tagIndex.clear();
+        difficultyIndex.clear();
+        listChanged();
 	}
 	
 
@@ -140,6 +533,7 @@ public class QuestionPool {
 	}
 
 	public void setDescriptionText(String descriptionText) {
+		checkWritable();
 		this.descriptionText = descriptionText;
 	}
 
@@ -148,6 +542,7 @@ public class QuestionPool {
 	}
 
 	public void setIsChangeAllowed(Boolean isChangeAllowed) {
+		checkWritable();
 		this.isChangeAllowed = isChangeAllowed;
 	}
 	
@@ -156,6 +551,7 @@ public class QuestionPool {
 	}
 
 	public void setIsExam(Boolean isExam) {
+		checkWritable();
 		this.isExam = isExam;
 	}
 
@@ -164,6 +560,7 @@ public class QuestionPool {
 	}
 
 	public void setTimed(Boolean timed) {
+		checkWritable();
 		this.timed = timed;
 	}
 
@@ -172,6 +569,7 @@ public class QuestionPool {
 	}
 
 	public void setTimeLimit(Integer timeLimit) {
+		checkWritable();
 		this.timeLimit = timeLimit;
 	}
 
@@ -180,6 +578,7 @@ public class QuestionPool {
 	}
 
 	public void setDisplayFinalScore(Boolean displayFinalScore) {
+		checkWritable();
 		this.displayFinalScore = displayFinalScore;
 	}
 
@@ -188,6 +587,7 @@ public class QuestionPool {
 	}
 
 	public void setDisplayPrintOption(Boolean displayPrintOption) {
+		checkWritable();
 		this.displayPrintOption = displayPrintOption;
 	}
 
@@ -196,6 +596,7 @@ public class QuestionPool {
 	}
 
 	public void setStudentName(String studentName) {
+		checkWritable();
 		this.studentName = studentName;
 	}
 
@@ -204,9 +605,47 @@ public class QuestionPool {
 	}
 
 	public void setNumberOfQuestions(Integer numberOfQuestions) {
+		checkWritable();
 		this.numberOfQuestions = numberOfQuestions;
 	}	
 
+	public ScoringRule getScoringRule() {
+		return scoringRule;
+	}
+
+	public void setScoringRule(ScoringRule scoringRule) {
+		checkWritable();
+		this.scoringRule = scoringRule;
+	}
+
+	/**
+	 * @return the score, in percent, a PROPORTIONAL score must reach for
+	 *         an answer to count under ScoringRule.THRESHOLD.
+	 */
+	public Integer getScoringThreshold() {
+		return scoringThreshold;
+	}
+
+	public void setScoringThreshold(Integer scoringThreshold) {
+		checkWritable();
+		this.scoringThreshold = scoringThreshold;
+	}
+
+	/**
+	 * @return how the questions of a test are drawn: quotas for tags and 
+	 *         difficulties, and weights of questions, as read by 
+	 *         QuestionSampler.setSpec(). Empty if every question is 
+	 *         equally likely.
+	 */
+	public String getSampling() {
+		return sampling;
+	}
+
+	public void setSampling(String sampling) {
+		checkWritable();
+		this.sampling = (sampling == null) ? "" : sampling.trim();
+	}
+
 	/**
 	 * Print all questions in the current list.
 	 * May also optionally print a detailed analysis of 
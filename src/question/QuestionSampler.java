@@ -0,0 +1,479 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Chooses the questions of a test from a pool.
+ *
+ * With nothing set up, every question is equally likely, just as
+ * Shuffler.sample() draws them. Beyond that:
+ * - Strata: a number of questions can be asked for from a section (a
+ *   tag) or a difficulty - e.g. 5 on "threads" and 3 of difficulty 4.
+ *   Each stratum is drawn from in turn; any questions still wanted
+ *   after that are drawn from the whole pool.
+ * - Weights: each question can be given a weight, so it is drawn more
+ *   or less often than others - e.g. less for a question that has been
+ *   seen by many students. A question of weight 0 is never drawn.
+ *
+ * Questions are drawn one at a time without replacement, each with a
+ * chance in proportion to its weight among those not yet drawn. Each
+ * draw takes constant time, from an alias table (Walker's method) of
+ * the stratum. The tables are kept until the pool or the weights
+ * change, so assembling one more test takes time in proportion to its
+ * size, not the pool's.
+ *
+ * Strata and weights refer to questions by their id (see
+ * QuestionPool.getQuestionId()), which a question keeps while it is in
+ * the pool; the questions drawn are given by their index.
+ *
+ * A pool keeps its strata and weights in its sampling setting (see
+ * QuestionPool.getSampling()), which setSpec() reads.
+ *
+ * @see Shuffler
+ */
+
+public class QuestionSampler {
+
+	private final List<Stratum> strata = new ArrayList<Stratum>();
+
+	// Question id -> weight, where not 1.
+	private final Map<Integer, Double> weights = new HashMap<Integer, Double>();
+
+	// The alias tables of each stratum and of the whole pool, and what
+	// they were made from.
+	private QuestionPool tablePool;
+	private int tableModCount;
+	private List<AliasTable> stratumTables;
+	private AliasTable poolTable;
+
+	// The spec last set up, and the pool it was read against.
+	private String spec;
+	private QuestionPool specPool;
+	private int specModCount;
+
+
+	/**
+	 * Create a sampler that draws every question with equal chance.
+	 */
+	public QuestionSampler() {
+		super();
+	}
+
+	/**
+	 * Set up the strata and weights from a pool's sampling setting: 
+	 * entries separated by commas, each one of
+	 *   tag:<tag>=<quota>             e.g. tag:threads=5
+	 *   difficulty:<difficulty>=<quota>  e.g. difficulty:4=3
+	 *   weight:<question>=<weight>    e.g. weight:12=0.5
+	 * where a question is given by its number in the pool, from 1, as
+	 * the editor shows it. Strata are drawn from in the order given. An
+	 * empty spec draws every question with equal chance.
+	 *
+	 * Nothing changes if the spec and the pool are as when last set up,
+	 * so the alias tables are kept from one test to the next.
+	 *
+	 * @throws IllegalArgumentException if the spec can't be read; the
+	 *         strata and weights are then left as they were.
+	 */
+	public synchronized void setSpec(String spec, QuestionPool qPool) {
+		if ((specPool == qPool) && (specModCount == qPool.getModCount())
+				&& spec.equals(this.spec)) {
+			return;
+		}
+
+		List<Stratum> newStrata = new ArrayList<Stratum>();
+		Map<Integer, Double> newWeights = new HashMap<Integer, Double>();
+		for (String entry : spec.split(",")) {
+			entry = entry.trim();
+			if (entry.length() == 0) {
+				continue;
+			}
+			int colon = entry.indexOf(':');
+			int equals = entry.lastIndexOf('=');
+			if ((colon < 0) || (equals < colon)) {
+				throw new IllegalArgumentException("Not kind:name=value: " + entry);
+			}
+			String kind = entry.substring(0, colon).trim();
+			String name = entry.substring(colon + 1, equals).trim();
+			String value = entry.substring(equals + 1).trim();
+			try {
+				if (kind.equalsIgnoreCase("tag")) {
+					newStrata.add(new Stratum(name, 0, parseQuota(value)));
+				}
+				else
+				if (kind.equalsIgnoreCase("difficulty")) {
+					newStrata.add(new Stratum(null, Integer.parseInt(name), parseQuota(value)));
+				}
+				else
+				if (kind.equalsIgnoreCase("weight")) {
+					int number = Integer.parseInt(name);
+					if ((number < 1) || (number > qPool.getSize())) {
+						throw new IllegalArgumentException("No question " + number 
+								+ " in the pool: " + entry);
+					}
+					double weight = Double.parseDouble(value);
+					if (!(weight >= 0) || Double.isInfinite(weight)) {
+						throw new IllegalArgumentException("Bad weight: " + entry);
+					}
+					if (weight != 1.0) {
+						newWeights.put(qPool.getQuestionId(number - 1), weight);
+					}
+				}
+				else {
+					throw new IllegalArgumentException("Not tag, difficulty or weight: " + entry);
+				}
+			}
+			catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Not a number: " + entry);
+			}
+		}
+
+		strata.clear();
+		strata.addAll(newStrata);
+		weights.clear();
+		weights.putAll(newWeights);
+		discardTables();
+
+		this.spec = spec;
+		specPool = qPool;
+		specModCount = qPool.getModCount();
+	}
+
+	private static int parseQuota(String value) {
+		int quota = Integer.parseInt(value);
+		if (quota < 0) {
+			throw new IllegalArgumentException("Negative quota: " + value);
+		}
+		return quota;
+	}
+
+	/**
+	 * Ask for a number of questions with a tag.
+	 */
+	public synchronized void addTagStratum(String tag, int quota) {
+		strata.add(new Stratum(tag.trim(), 0, quota));
+		discardTables();
+	}
+
+	/**
+	 * Ask for a number of questions of a difficulty (0 for not rated).
+	 */
+	public synchronized void addDifficultyStratum(int difficulty, int quota) {
+		strata.add(new Stratum(null, difficulty, quota));
+		discardTables();
+	}
+
+	public synchronized void clearStrata() {
+		strata.clear();
+		discardTables();
+	}
+
+	/**
+	 * @param id - the question's id.
+	 * @param weight - 1 is normal; 0 never draws the question.
+	 */
+	public synchronized void setWeight(int id, double weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + weight);
+		}
+		if (weight == 1.0) {
+			weights.remove(id);
+		}
+		else {
+			weights.put(id, weight);
+		}
+		discardTables();
+	}
+
+	public synchronized double getWeight(int id) {
+		Double w = weights.get(id);
+		return (w == null) ? 1.0 : w;
+	}
+
+	public synchronized void clearWeights() {
+		weights.clear();
+		discardTables();
+	}
+
+	/**
+	 * Choose the questions of a test.
+	 *
+	 * @param qPool - The pool to draw from.
+	 * @param nQuestions - How many questions; 0 for every question.
+	 * @param shuffler - Makes the random choices.
+	 * @return the indices of the questions chosen, in random order. There
+	 *         may be fewer than asked for, if too many have weight 0.
+	 */
+	public synchronized int[] sample(QuestionPool qPool, int nQuestions, Shuffler shuffler) {
+		int size = qPool.getSize();
+		if (nQuestions <= 0) {
+			return shuffler.permutation(size);
+		}
+		if (strata.isEmpty() && weights.isEmpty()) {
+			return shuffler.sample(size, nQuestions);
+		}
+
+		checkTables(qPool);
+
+		// Just the questions drawn, so a test costs no more than its size.
+		Set<Integer> drawn = new HashSet<Integer>();
+		List<Integer> chosen = new ArrayList<Integer>();
+		for (int s = 0; s < strata.size(); s++) {
+			int quota = Math.min(strata.get(s).quota, nQuestions - chosen.size());
+			draw(stratumTables.get(s), quota, drawn, chosen, shuffler);
+		}
+		draw(poolTable, nQuestions - chosen.size(), drawn, chosen, shuffler);
+
+		// The strata were drawn in turn; mix them up.
+		shuffler.shuffle(chosen);
+		int[] indices = new int[chosen.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = chosen.get(i);
+		}
+		return indices;
+	}
+
+	/**
+	 * Draw up to k questions from a table, skipping those already drawn.
+	 *
+	 * Redrawing when a drawn question comes up leaves each of the rest
+	 * with a chance in proportion to its weight. If that happens often,
+	 * a table of just the rest is made, so it never costs much.
+	 */
+	private static void draw(AliasTable table, int k, Set<Integer> drawn,
+			List<Integer> chosen, Shuffler shuffler) {
+		int rejects = 0;
+		while ((k > 0) && (table != null)) {
+			int index = table.next(shuffler);
+			if (drawn.contains(index)) {
+				if (++rejects > table.size()) {
+					table = table.without(drawn);
+					rejects = 0;
+				}
+				continue;
+			}
+			drawn.add(index);
+			chosen.add(index);
+			k--;
+		}
+	}
+
+	/**
+	 * Forget the alias tables, e.g. after the tags or difficulty of some
+	 * questions have been changed. They are made again when next needed.
+	 */
+	public synchronized void discardTables() {
+		specPool = null;
+		tablePool = null;
+		stratumTables = null;
+		poolTable = null;
+	}
+
+	/**
+	 * Make the alias tables, unless they were made for the pool as it is.
+	 */
+	private void checkTables(QuestionPool qPool) {
+		if ((tablePool == qPool) && (tableModCount == qPool.getModCount())) {
+			return;
+		}
+
+		// The index of each question id.
+		int size = qPool.getSize();
+		Map<Integer, Integer> indexOfId = new HashMap<Integer, Integer>();
+		int[] all = new int[size];
+		for (int i = 0; i < size; i++) {
+			indexOfId.put(qPool.getQuestionId(i), i);
+			all[i] = i;
+		}
+
+		stratumTables = new ArrayList<AliasTable>();
+		for (Stratum stratum : strata) {
+			BitSet ids;
+			if (stratum.tag != null) {
+				ids = qPool.findQuestionIds(Collections.singleton(stratum.tag), true, -1);
+			}
+			else {
+				ids = qPool.getDifficultyIds(stratum.difficulty);
+			}
+			int[] indices = new int[ids.cardinality()];
+			int n = 0;
+			for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+				Integer index = indexOfId.get(id);
+				if (index != null) {
+					indices[n++] = index;
+				}
+			}
+			int[] found = new int[n];
+			System.arraycopy(indices, 0, found, 0, n);
+			stratumTables.add(AliasTable.create(found, weightsOf(qPool, found)));
+		}
+		poolTable = AliasTable.create(all, weightsOf(qPool, all));
+
+		tablePool = qPool;
+		tableModCount = qPool.getModCount();
+	}
+
+	private double[] weightsOf(QuestionPool qPool, int[] indices) {
+		double[] w = new double[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			w[i] = getWeight(qPool.getQuestionId(indices[i]));
+		}
+		return w;
+	}
+
+
+	/**
+	 * A number of questions wanted from a tag or difficulty.
+	 */
+	private static final class Stratum {
+		final String tag;          // null for a difficulty stratum.
+		final int difficulty;
+		final int quota;
+
+		Stratum(String tag, int difficulty, int quota) {
+			this.tag = tag;
+			this.difficulty = difficulty;
+			this.quota = quota;
+		}
+	}
+
+
+	/**
+	 * Draws one of a set of items, with chances in proportion to their
+	 * weights, in constant time: pick a column at random, then either
+	 * its own item or its alias, by the column's probability.
+	 */
+	private static final class AliasTable {
+		private final int[] items;
+		private final double[] weights;
+		private final double[] prob;
+		private final int[] alias;
+
+		private AliasTable(int[] items, double[] weights, double[] prob, int[] alias) {
+			this.items = items;
+			this.weights = weights;
+			this.prob = prob;
+			this.alias = alias;
+		}
+
+		/**
+		 * @return a table of the items with positive weight, or null if
+		 *         there are none.
+		 */
+		static AliasTable create(int[] items, double[] weights) {
+			int m = 0;
+			double total = 0;
+			for (double w : weights) {
+				if (w > 0) {
+					m++;
+					total += w;
+				}
+			}
+			if (m == 0) {
+				return null;
+			}
+
+			int[] its = new int[m];
+			double[] ws = new double[m];
+			for (int i = 0, j = 0; i < items.length; i++) {
+				if (weights[i] > 0) {
+					its[j] = items[i];
+					ws[j++] = weights[i];
+				}
+			}
+
+			// Scale so the average column is 1, then pair each column
+			// under 1 with one over it, which fills it up.
+			double[] prob = new double[m];
+			int[] alias = new int[m];
+			int[] small = new int[m];
+			int[] large = new int[m];
+			int nSmall = 0;
+			int nLarge = 0;
+			for (int i = 0; i < m; i++) {
+				prob[i] = ws[i] * m / total;
+				if (prob[i] < 1.0) {
+					small[nSmall++] = i;
+				}
+				else {
+					large[nLarge++] = i;
+				}
+			}
+			while ((nSmall > 0) && (nLarge > 0)) {
+				int s = small[--nSmall];
+				int l = large[--nLarge];
+				alias[s] = l;
+				prob[l] = (prob[l] + prob[s]) - 1.0;
+				if (prob[l] < 1.0) {
+					small[nSmall++] = l;
+				}
+				else {
+					large[nLarge++] = l;
+				}
+			}
+			// What's left is 1, give or take rounding.
+			while (nLarge > 0) {
+				prob[large[--nLarge]] = 1.0;
+			}
+			while (nSmall > 0) {
+				prob[small[--nSmall]] = 1.0;
+			}
+			return new AliasTable(its, ws, prob, alias);
+		}
+
+		int size() {
+			return items.length;
+		}
+
+		int next(Shuffler shuffler) {
+			int column = shuffler.nextInt(items.length);
+			return (shuffler.nextDouble() < prob[column]) ? items[column] : items[alias[column]];
+		}
+
+		/**
+		 * @return a table of the items not in a set, or null if there
+		 *         are none.
+		 */
+		AliasTable without(Set<Integer> drawn) {
+			int[] its = new int[items.length];
+			double[] ws = new double[items.length];
+			int n = 0;
+			for (int i = 0; i < items.length; i++) {
+				if (!drawn.contains(items[i])) {
+					its[n] = items[i];
+					ws[n++] = weights[i];
+				}
+			}
+			int[] restItems = new int[n];
+			double[] restWeights = new double[n];
+			System.arraycopy(its, 0, restItems, 0, n);
+			System.arraycopy(ws, 0, restWeights, 0, n);
+			return create(restItems, restWeights);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under 
+ * the GNU General Public License, Version 3.0 (the "License"); you may 
+ * not use this file except in compliance with the License.  You may obtain 
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.io.IOException;
+import java.util.Set;
+
+
+/**
+ * Somewhere questions can be read from one at a time, by position,
+ * without reading any of the others - e.g. an indexed .jqs file.
+ *
+ * Used by LazyQuestionPool to construct questions only when needed.
+ *
+ * @see LazyQuestionPool
+ */
+
+public interface QuestionSource {
+
+	/**
+	 * @return the number of questions available.
+	 */
+	int getQuestionCount();
+
+	/**
+	 * Construct a new Question object for the question at the given
+	 * position. Each call returns a new object.
+	 *
+	 * @param index - position of the question, 0 to getQuestionCount()-1.
+	 * @return the new Question.
+	 * @throws IOException if the question can't be read.
+	 */
+	Question readQuestion(int index) throws IOException;
+
+	/**
+	 * Get the tags of the question at the given position, if possible
+	 * without constructing it.
+	 *
+	 * @param index - position of the question, 0 to getQuestionCount()-1.
+	 * @return the question's tags.
+	 * @throws IOException if the question can't be read.
+	 */
+	Set<String> getTags(int index) throws IOException;
+
+	/**
+	 * Get the difficulty of the question at the given position, if
+	 * possible without constructing it.
+	 *
+	 * @param index - position of the question, 0 to getQuestionCount()-1.
+	 * @return the question's difficulty, or 0 if not rated.
+	 * @throws IOException if the question can't be read.
+	 */
+	int getDifficulty(int index) throws IOException;
+
+	/**
+	 * Release any resources (e.g. an open file) held by the source.
+	 */
+	void close() throws IOException;
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * One user's view of a Question: its possible answers in the order
+ * that user sees them.
+ *
+ * The Question itself is left as it was read, so one QuestionPool can
+ * be shared by many sessions at once; each session keeps just a view -
+ * the question and the order of its answers - for each question asked.
+ *
+ * Positions here are the positions on screen, from 0; indices are the
+ * positions in the Question's own list of possible answers.
+ *
+ * @see Shuffler
+ */
+
+public class QuestionView {
+
+	private final Question question;
+
+	// order[p] is the index of the answer shown at position p.
+	private final int[] order;
+
+	// The correct answers of a MULTI_CHOICE question, by position.
+	private AnswerSet correctAnswerSet;
+
+
+	/**
+	 * View a question with its answers in their own order.
+	 */
+	public QuestionView(Question question) {
+		this(question, identity(question.getNumberOfPossibleAnswers()));
+	}
+
+	/**
+	 * View a question with its answers in an order chosen by the Shuffler.
+	 */
+	public QuestionView(Question question, Shuffler shuffler) {
+		this(question, shuffler.permutation(question.getNumberOfPossibleAnswers()));
+	}
+
+	private QuestionView(Question question, int[] order) {
+		this.question = question;
+		this.order = order;
+	}
+
+	private static int[] identity(int n) {
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		return order;
+	}
+
+	public Question getQuestion() {
+		return question;
+	}
+
+	public QuestionType getQuestionType() {
+		return question.getQuestionType();
+	}
+
+	public int getNumberOfPossibleAnswers() {
+		return order.length;
+	}
+
+	/**
+	 * @return the index in the Question of the answer shown at a position.
+	 */
+	public int getIndex(int position) {
+		return order[position];
+	}
+
+	public PossibleAnswer getPossibleAnswer(int position) {
+		return question.getPossibleAnswers().get(order[position]);
+	}
+
+	/**
+	 * @return the possible answers in the order shown; a read-only view.
+	 */
+	public List<PossibleAnswer> getPossibleAnswers() {
+		return new AbstractList<PossibleAnswer>() {
+			@Override
+			public PossibleAnswer get(int position) {
+				return getPossibleAnswer(position);
+			}
+
+			@Override
+			public int size() {
+				return order.length;
+			}
+		};
+	}
+
+	/**
+	 * The correct answers of a MULTI_CHOICE question, by the positions
+	 * they are shown at - to compare with the boxes a user ticked.
+	 */
+	public AnswerSet getCorrectAnswerSet() {
+		if (correctAnswerSet == null) {
+			AnswerSet correct = question.getCorrectAnswerSet();
+			AnswerSet set = new AnswerSet();
+			for (int p = 0; p < order.length; p++) {
+				if (correct.get(order[p])) {
+					set.set(p, true);
+				}
+			}
+			correctAnswerSet = set;
+		}
+		return correctAnswerSet;
+	}
+
+	/**
+	 * Is the answer shown at a position one of the correct answers of a
+	 * MULTI_CHOICE question ?
+	 */
+	public boolean isCorrectAnswer(int position) {
+		return getCorrectAnswerSet().get(position);
+	}
+
+	/**
+	 * Turn a set of positions on screen - e.g. the boxes a user ticked -
+	 * into the indices of the same answers in the Question.
+	 */
+	public AnswerSet toIndices(AnswerSet positions) {
+		AnswerSet indices = new AnswerSet();
+		for (int p = 0; p < order.length; p++) {
+			if (positions.get(p)) {
+				indices.set(order[p], true);
+			}
+		}
+		return indices;
+	}
+
+	/**
+	 * @return the position the correct answer of a field (from 0) of a
+	 *         DRAG_N_DROP question is shown at.
+	 */
+	public int getCorrectPosition(int field) {
+		int index = question.getCorrectAnswers().get(field) - 1;
+		for (int p = 0; p < order.length; p++) {
+			if (order[p] == index) {
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Make a new Question that has the possible answers in this order,
+	 * and its correct answers moved to match - e.g. to save an exam as 
+	 * one student will see it. Everything else is shared with the 
+	 * original, which is not changed.
+	 */
+	public Question createQuestion() {
+		List<PossibleAnswer> pAnswers = new ArrayList<PossibleAnswer>();
+		for (int p = 0; p < order.length; p++) {
+			PossibleAnswer pa = getPossibleAnswer(p);
+			boolean correct = (question.getQuestionType() == QuestionType.MULTI_CHOICE)
+					&& isCorrectAnswer(p);
+			pAnswers.add(new PossibleAnswer(pa.getTheAnswer(), correct, 0, 
+					pa.getAnswerExplanation()));
+		}
+
+		// MULTI_CHOICE: the 0-based positions of the correct answers.
+		// DRAG_N_DROP: for each field, the 1-based position of its answer.
+		List<Integer> cAnswers = new ArrayList<Integer>();
+		if (question.getQuestionType() == QuestionType.MULTI_CHOICE) {
+			for (int p = 0; p < order.length; p++) {
+				if (isCorrectAnswer(p)) {
+					cAnswers.add(p);
+				}
+			}
+		}
+		else {
+			for (int f = 0; f < question.getCorrectAnswers().size(); f++) {
+				cAnswers.add(getCorrectPosition(f) + 1);
+			}
+		}
+
+		Question copy;
+		if (question.getQuestionContent() != null) {
+			copy = new Question(question.getDemoText(), question.getQuestionText(), 
+					pAnswers, cAnswers, question.getQuestionType(), 
+					question.getQuestionContent(), question.getHintText(), 
+					question.getExplainText(), question.isMarked());
+		}
+		else {
+			copy = new Question(question.getDemoText(), question.getQuestionText(), 
+					pAnswers, cAnswers, question.getQuestionType(), 
+					question.getQuestionDoc(), question.getHintText(), 
+					question.getExplainText(), question.isMarked());
+		}
+		copy.setTags(question.getTags());
+		copy.setDifficulty(question.getDifficulty());
+		return copy;
+	}
+}
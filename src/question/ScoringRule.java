@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+
+/**
+ * How an answer is scored - set for each QuestionPool, and used by
+ * GradingEngine.
+ *
+ * An answer is made of parts: for a MULTI_CHOICE question, each possible
+ * answer that is correct or was ticked; for a DRAG_N_DROP question, each
+ * field. A part is right if a correct answer was ticked, or a field holds
+ * its answer; wrong if a wrong answer was ticked, or a field holds
+ * another. An empty field is neither.
+ *
+ * - ALL_OR_NOTHING: 1 if every part is right, else 0.
+ * - PROPORTIONAL: the fraction of the parts that are right.
+ * - RIGHT_MINUS_WRONG: the fraction of the right parts got, less the
+ *   fraction of the wrong ones given - so guessing doesn't pay. Never
+ *   below 0.
+ * - THRESHOLD: 1 if the PROPORTIONAL score reaches the pool's scoring
+ *   threshold, else 0.
+ *
+ * @see GradingEngine
+ * @see QuestionPool#getScoringRule()
+ */
+
+public enum ScoringRule {ALL_OR_NOTHING, PROPORTIONAL, RIGHT_MINUS_WRONG, THRESHOLD};
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package question;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Puts questions and answers into random order.
+ *
+ * All the orders come from one random number generator, so a Shuffler
+ * made with the same seed makes the same choices again - e.g. an exam
+ * can be given in the same order to a student whose seed was recorded.
+ *
+ * Each shuffle is a Fisher-Yates shuffle, taking time in proportion to
+ * the number of items, and every order is equally likely. sample() only
+ * does as much of the shuffle as it needs, so drawing a few questions
+ * from a large pool is cheap.
+ *
+ * A Shuffler is not thread-safe; give each thread its own.
+ *
+ * @see QuestionView
+ */
+
+public class Shuffler {
+
+	private final long seed;
+	private final Random random;
+
+
+	/**
+	 * Create a Shuffler with a seed that is different each time.
+	 */
+	public Shuffler() {
+		this(new Random().nextLong());
+	}
+
+	/**
+	 * Create a Shuffler that makes the same choices as every other
+	 * made with the same seed.
+	 */
+	public Shuffler(long seed) {
+		this.seed = seed;
+		random = new Random(seed);
+	}
+
+	/**
+	 * @return the seed, to make the same choices again later.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return a random integer from 0 up to, but not including, n.
+	 */
+	public int nextInt(int n) {
+		return random.nextInt(n);
+	}
+
+	/**
+	 * @return a random number from 0 up to, but not including, 1.
+	 */
+	public double nextDouble() {
+		return random.nextDouble();
+	}
+
+	/**
+	 * Make a random permutation of 0 to n-1.
+	 *
+	 * @param n - The number of items.
+	 * @return the new order: element p is the item to put at position p.
+	 */
+	public int[] permutation(int n) {
+		int[] perm = new int[n];
+		for (int i = 0; i < n; i++) {
+			perm[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int t = perm[i];
+			perm[i] = perm[j];
+			perm[j] = t;
+		}
+		return perm;
+	}
+
+	/**
+	 * Draw k different integers from 0 to n-1, in random order.
+	 *
+	 * The first k steps of a Fisher-Yates shuffle of 0 to n-1, with only
+	 * the swapped positions remembered, so it takes time and space in
+	 * proportion to k however large n is.
+	 *
+	 * @param n - The number of items to draw from.
+	 * @param k - How many to draw; all n if k is 0 or more than n.
+	 */
+	public int[] sample(int n, int k) {
+		if ((k <= 0) || (k >= n)) {
+			return permutation(n);
+		}
+
+		// Position -> item, for the positions whose item has been swapped
+		// away from the start; every other position p still holds p.
+		Map<Integer, Integer> swapped = new HashMap<Integer, Integer>();
+		int[] drawn = new int[k];
+		for (int i = 0; i < k; i++) {
+			int j = i + random.nextInt(n - i);
+			Integer atJ = swapped.get(j);
+			Integer atI = swapped.remove(i);
+			drawn[i] = (atJ != null) ? atJ : j;
+			if (j != i) {
+				swapped.put(j, (atI != null) ? atI : i);
+			}
+		}
+		return drawn;
+	}
+
+	/**
+	 * Put the items of a list into random order, in place.
+	 */
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			list.set(j, list.set(i, list.get(j)));
+		}
+	}
+}
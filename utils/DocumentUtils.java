@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.awt.Component;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JTextField;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Element;
+import javax.swing.text.Style;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.StyledDocument;
+
+import question.Question;
+import question.QuestionContent;
+
+
+// DocumentUtils
+//-----------------------------------------------------------------------
+/**
+ * <p>DocumentUtils instances should NOT be constructed in standard programming.
+ * The methods have been declared as <code>static</code> therefore, the class
+ * methods should be used as <code>DocumentUtils.getTextFields(doc)</code>.</p>
+ *
+ * <p>File for general utilities for question documents.</p>
+ * <ul>
+ * <li>Find the ImageIcons and JTextFields embedded in a document. The
+ *     document's element tree is walked rather than calling
+ *     <code>getCharacterElement()</code> once for every character, so a
+ *     scan costs one visit per run of text instead of one per char.
+ *     Objects are reported in document order.
+ * <li>Get the JTextField of one blank straight from its offset (see
+ *     Question.getBlankOffset()), without scanning the document.
+ * <li>Convert between a document and the Swing-free QuestionContent that
+ *     is read from and written to files. Each distinct image is decoded
+ *     once, and the decoded ImageIcon shared by every document showing it.
+ * <li>Get the plain words of a question, whether or not it has been
+ *     displayed, e.g. for QuestionSearchIndex.
+ * </ul>
+ *
+ * @see IOUtils
+ */
+
+public class DocumentUtils {
+
+	// The ImageIcon decoded from each PNG array. The readers give every
+	// copy of an image the same array, so the copies share one ImageIcon.
+	private static final Map<byte[], WeakReference<ImageIcon>> imageIcons =
+			new WeakHashMap<byte[], WeakReference<ImageIcon>>();
+
+	// ...and the PNG data of each ImageIcon, so it needn't be re-encoded.
+	private static final Map<ImageIcon, byte[]> iconPNGs =
+			new WeakHashMap<ImageIcon, byte[]>();
+
+	/**
+	 *
+	 * <p>This constructor is public and only exists to permit tools that require
+	 * a JavaBean instance to operate.</p>
+	 */
+	public DocumentUtils() {
+		super();
+	}
+
+	// getEmbeddedObjects
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Find the position of every ImageIcon and JTextField embedded
+	 * in a question document.</p>
+	 *
+	 * <p>The maps are keyed by position because the same ImageIcon may
+	 * be shown more than once in a document.</p>
+	 *
+	 * @param doc  the question document to scan.
+	 * @param imageIconMap  filled with the position of each ImageIcon,
+	 *                      and the ImageIcon (may be null).
+	 * @param textFieldMap  filled with the position of each JTextField,
+	 *                      and the JTextField (may be null).
+	 */
+	public static void getEmbeddedObjects(StyledDocument doc,
+			Map<Integer, ImageIcon> imageIconMap,
+			Map<Integer, JTextField> textFieldMap) {
+		scan(doc.getDefaultRootElement(), imageIconMap, textFieldMap, null);
+	}
+
+	// getTextFields
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Find every JTextField embedded in a question document.</p>
+	 *
+	 * @param doc  the question document to scan.
+	 * @return the JTextFields, in the order they appear in the text.
+	 */
+	public static List<JTextField> getTextFields(StyledDocument doc) {
+		List<JTextField> textFields = new ArrayList<JTextField>();
+		scan(doc.getDefaultRootElement(), null, null, textFields);
+		return textFields;
+	}
+
+	// getTextField
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Get the JTextField embedded at an offset of a question document,
+	 * looking up just the element there.</p>
+	 *
+	 * @param doc  the question document.
+	 * @param offset  the offset of the field, e.g. from
+	 *                Question.getBlankOffset().
+	 * @return the JTextField, or null if there is none at the offset.
+	 */
+	public static JTextField getTextField(StyledDocument doc, int offset) {
+		Component comp = StyleConstants.getComponent(
+				doc.getCharacterElement(offset).getAttributes());
+		return (comp instanceof JTextField) ? (JTextField) comp : null;
+	}
+
+	// getQuestionDoc
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Get the document of a question, creating it from the question's
+	 * content the first time.</p>
+	 *
+	 * <p>A snapshot (see Question.createSnapshot) is never changed, as
+	 * other threads may be reading it; each call makes a new document
+	 * for the caller to keep.</p>
+	 *
+	 * @param question  the question to display.
+	 * @return its document (which is kept by the question, unless it is
+	 *         a snapshot).
+	 */
+	public static DefaultStyledDocument getQuestionDoc(Question question) {
+		DefaultStyledDocument doc = question.getQuestionDoc();
+		if (doc == null && question.getQuestionContent() != null) {
+			doc = createDocument(question.getQuestionContent());
+			if (!question.isSnapshot()) {
+				question.setQuestionDoc(doc);
+			}
+		}
+		return doc;
+	}
+
+	// getQuestionContent
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Get the up to date content of a question, e.g. to save it. If the
+	 * question has a document that is used, as it may have been edited.</p>
+	 *
+	 * @param question  the question.
+	 * @return its content.
+	 * @throws IOException if an image can't be encoded.
+	 */
+	public static QuestionContent getQuestionContent(Question question)
+			throws IOException {
+		DefaultStyledDocument doc = question.getQuestionDoc();
+		if (doc == null) {
+			return question.getQuestionContent();
+		}
+		return createContent(doc);
+	}
+
+	// getPlainText
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Get just the words of a question's main display text, e.g. to
+	 * search it. Each image and blank is replaced by a space. No images are
+	 * encoded, and no document is created.</p>
+	 *
+	 * @param question  the question.
+	 * @return its text, or "" if it has none.
+	 */
+	public static String getPlainText(Question question) {
+		List<Integer> positions = new ArrayList<Integer>();
+		String text;
+
+		DefaultStyledDocument doc = question.getQuestionDoc();
+		if (doc != null) {
+			try {
+				text = doc.getText(0, doc.getLength());
+			} catch (BadLocationException ble) {
+				return "";
+			}
+			Map<Integer, ImageIcon> imageIconMap = new HashMap<Integer, ImageIcon>();
+			Map<Integer, JTextField> textFieldMap = new HashMap<Integer, JTextField>();
+			getEmbeddedObjects(doc, imageIconMap, textFieldMap);
+			positions.addAll(imageIconMap.keySet());
+			positions.addAll(textFieldMap.keySet());
+		}
+		else
+		if (question.getQuestionContent() != null) {
+			QuestionContent content = question.getQuestionContent();
+			text = content.getText();
+			for (QuestionContent.ImageRef image : content.getImages()) {
+				positions.add(image.getPosition());
+			}
+			for (QuestionContent.Blank blank : content.getBlanks()) {
+				positions.add(blank.getPosition());
+			}
+		}
+		else {
+			return "";
+		}
+
+		if (positions.isEmpty()) {
+			return text;
+		}
+		char[] chars = text.toCharArray();
+		for (int pos : positions) {
+			if (pos >= 0 && pos < chars.length) {
+				chars[pos] = ' ';
+			}
+		}
+		return new String(chars);
+	}
+
+	// createDocument
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Build a question document from its content.</p>
+	 *
+	 * @param content  the text, images and blanks.
+	 * @return the new document.
+	 */
+	public static DefaultStyledDocument createDocument(QuestionContent content) {
+		DefaultStyledDocument dsd = new DefaultStyledDocument();
+		try {
+			dsd.insertString(0, content.getText(), null);
+		} catch (BadLocationException ble) {
+			System.out.println("ERROR: " + ble);
+			ble.printStackTrace();
+		}
+
+		for (QuestionContent.ImageRef image : content.getImages()) {
+			try {
+				insertImage(dsd, image.getPosition(), getImageIcon(image.getPNG()));
+			} catch (IOException ioe) {
+				System.out.println("ERROR: " + ioe);
+				ioe.printStackTrace();
+			}
+		}
+
+		for (QuestionContent.Blank blank : content.getBlanks()) {
+			JTextField newJTF = IOUtils.createNewJTextField(blank.getText());
+			insertTextField(dsd, blank.getPosition(), newJTF);
+		}
+		return dsd;
+	}
+
+	// createContent
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Describe a question document as plain content.</p>
+	 *
+	 * @param doc  the document.
+	 * @return its text, images and blanks.
+	 * @throws IOException if an image can't be encoded.
+	 */
+	public static QuestionContent createContent(StyledDocument doc)
+			throws IOException {
+		String text;
+		try {
+			text = doc.getText(0, doc.getLength());
+		} catch (BadLocationException ble) {
+			throw new IOException(ble.toString());
+		}
+
+		Map<Integer, ImageIcon> imageIconMap = new HashMap<Integer, ImageIcon>();
+		Map<Integer, JTextField> textFieldMap = new HashMap<Integer, JTextField>();
+		getEmbeddedObjects(doc, imageIconMap, textFieldMap);
+
+		List<QuestionContent.ImageRef> images = new ArrayList<QuestionContent.ImageRef>();
+		for (Map.Entry<Integer, ImageIcon> entry : imageIconMap.entrySet()) {
+			ImageIcon imageIcon = entry.getValue();
+			images.add(new QuestionContent.ImageRef(entry.getKey(),
+					imageIcon.getIconWidth(), imageIcon.getIconHeight(),
+					getPNG(imageIcon)));
+		}
+
+		List<QuestionContent.Blank> blanks = new ArrayList<QuestionContent.Blank>();
+		for (Map.Entry<Integer, JTextField> entry : textFieldMap.entrySet()) {
+			blanks.add(new QuestionContent.Blank(entry.getKey(),
+					entry.getValue().getText()));
+		}
+
+		return new QuestionContent(text, images, blanks);
+	}
+
+	/**
+	 * Get the shared ImageIcon for some PNG data, decoding it if needed.
+	 */
+	private static ImageIcon getImageIcon(byte[] png) throws IOException {
+		synchronized (imageIcons) {
+			WeakReference<ImageIcon> ref = imageIcons.get(png);
+			ImageIcon imageIcon = (ref == null) ? null : ref.get();
+			if (imageIcon == null) {
+				imageIcon = new ImageIcon(ImageUtils.getImageFromPNG(png));
+				imageIcons.put(png, new WeakReference<ImageIcon>(imageIcon));
+				iconPNGs.put(imageIcon, png);
+			}
+			return imageIcon;
+		}
+	}
+
+	/**
+	 * Get the PNG data of an ImageIcon, encoding it if needed.
+	 */
+	private static byte[] getPNG(ImageIcon imageIcon) throws IOException {
+		synchronized (imageIcons) {
+			byte[] png = iconPNGs.get(imageIcon);
+			if (png == null) {
+				try {
+					png = ImageUtils.getPNGFromImage(imageIcon.getImage(),
+							imageIcon.getIconWidth(), imageIcon.getIconHeight());
+				} catch (InterruptedException ie) {
+					throw new IOException(ie.toString());
+				}
+				iconPNGs.put(imageIcon, png);
+			}
+			return png;
+		}
+	}
+
+	/**
+	 * Put an image into a question document, replacing the single
+	 * placeholder char at its position.
+	 */
+	private static void insertImage(DefaultStyledDocument dsd, int pos, ImageIcon imageIcon) {
+    	try {
+            // The image must first be wrapped in a style
+            Style style = dsd.addStyle("StyleName", null);
+            StyleConstants.setIcon(style, imageIcon);
+
+            // Insert the image at the correct position in the text.
+            // NOTE! You MUST insert a string representation of PRECISELY ONE
+            // char in length (namely "X", below) in order to insert ONE image.
+            // Remove the blank space first.
+            dsd.remove(pos, 1);
+            // Now insert the Image.
+            dsd.insertString(pos, "X", style);
+    	} catch (BadLocationException ble) {
+    		System.out.println("ERROR: " + ble);
+    		ble.printStackTrace();
+    	}
+	}
+
+	/**
+	 * Put a drop-target JTextField into a question document, replacing
+	 * the single placeholder char at its position.
+	 */
+	private static void insertTextField(DefaultStyledDocument dsd, int pos, JTextField newJTF) {
+    	try {
+            // The component must first be wrapped in a style
+            Style style = dsd.addStyle("StyleName", null);
+            StyleConstants.setComponent(style, newJTF);
+
+            // Insert the JTextField at the correct position in the text.
+            // NOTE! You MUST insert a string representation of PRECISELY ONE
+            // char in length (namely "X", below) in order to insert ONE component.
+            // Remove the blank space first.
+            dsd.remove(pos, 1);
+            // Now insert the JTextField.
+            dsd.insertString(pos, "X", style);
+    	} catch (BadLocationException ble) {
+    		System.out.println("ERROR: " + ble);
+    		ble.printStackTrace();
+    	}
+	}
+
+	/**
+	 * Visit each leaf element below <code>elem</code>, in order, and record
+	 * any component or icon held in its attributes.
+	 */
+	private static void scan(Element elem,
+			Map<Integer, ImageIcon> imageIconMap,
+			Map<Integer, JTextField> textFieldMap,
+			List<JTextField> textFields) {
+
+		int count = elem.getElementCount();
+		if (count > 0 && !elem.isLeaf()) {
+			for (int i = 0; i < count; i++) {
+				scan(elem.getElement(i), imageIconMap, textFieldMap, textFields);
+			}
+			return;
+		}
+
+		AttributeSet attrs = elem.getAttributes();
+
+		// 1. Identify any JTextFields
+		Component comp = StyleConstants.getComponent(attrs);
+		if (comp instanceof JTextField) {
+			JTextField jtf = (JTextField) comp;
+			if (textFieldMap != null) {
+				textFieldMap.put(elem.getStartOffset(), jtf);
+			}
+			if (textFields != null) {
+				textFields.add(jtf);
+			}
+		}
+
+		// 2. Identify any Images
+		Icon icon = StyleConstants.getIcon(attrs);
+		if (icon instanceof ImageIcon && imageIconMap != null) {
+			imageIconMap.put(elem.getStartOffset(), (ImageIcon) icon);
+		}
+	}
+}
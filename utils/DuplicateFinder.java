@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import question.PossibleAnswer;
+import question.Question;
+import question.QuestionPool;
+
+
+// DuplicateFinder
+//-----------------------------------------------------------------------
+/**
+ * <p>Finds groups of questions that are the same, or nearly the same -
+ * e.g. after pools have been merged with 'File Open and Append'.</p>
+ * <ul>
+ * <li>Each question is reduced to a set of shingles: every run of
+ *     SHINGLE_SIZE consecutive words of its question text, main display
+ *     text and possible answers. Two questions are similar if their sets
+ *     have a high Jaccard similarity (shared / all shingles).
+ * <li>Each set is summarized by a MinHash signature of NUM_HASHES values.
+ *     The fraction of values two signatures share estimates the Jaccard
+ *     similarity of their sets.
+ * <li>Locality sensitive hashing: the signatures are cut into BANDS bands,
+ *     and questions whose signatures agree on all of any one band fall in
+ *     the same bucket. Only questions that share a bucket are compared, so
+ *     the time taken grows with the size of the pool, not its square.
+ * <li>Compared questions at least as similar as the threshold are joined
+ *     into one group (a union-find), so a chain of lightly edited copies
+ *     ends up in one group.
+ * </ul>
+ *
+ * <p>Questions with identical words have identical signatures, and are
+ * always grouped. Otherwise a question is compared with one question of each
+ * group already in its buckets, so the chance that a pair is found falls
+ * quickly below about 50% similarity.</p>
+ *
+ * @see QuestionSearchIndex
+ */
+
+public class DuplicateFinder {
+
+	// Words per shingle.
+	private static final int SHINGLE_SIZE = 3;
+
+	// Signature length, as BANDS bands of ROWS values.
+	private static final int BANDS = 16;
+	private static final int ROWS = 4;
+	private static final int NUM_HASHES = BANDS * ROWS;
+
+	// Default similarity at which two questions are called duplicates.
+	public static final double DEFAULT_THRESHOLD = 0.8;
+
+	private final double threshold;
+
+
+	/**
+	 * Create a finder with the default threshold.
+	 */
+	public DuplicateFinder() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * @param threshold  the estimated similarity, from 0 to 1, at which two
+	 *                   questions are called duplicates.
+	 */
+	public DuplicateFinder(double threshold) {
+		this.threshold = threshold;
+	}
+
+	// findDuplicates
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Find the groups of near-duplicate questions in a pool.</p>
+	 *
+	 * @param qPool  the pool to search.
+	 * @return each group of two or more similar questions, in pool order.
+	 *         The groups are in the order of their first question.
+	 */
+	public List<List<Question>> findDuplicates(QuestionPool qPool) {
+		int size = qPool.getSize();
+		int[][] signatures = new int[size][];
+		for (int i = 0; i < size; i++) {
+			Question q = qPool.getQuestion(i);
+			if (q != null) {
+				signatures[i] = signature(q);
+			}
+		}
+
+		// Union-find over pool positions.
+		int[] parent = new int[size];
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+		}
+
+		// Questions with identical signatures are joined up front, so
+		// they never depend on which questions the buckets compare.
+		Map<Integer, List<Integer>> identical = new HashMap<Integer, List<Integer>>();
+		for (int i = 0; i < size; i++) {
+			if (signatures[i] == null) {
+				continue;
+			}
+			Integer key = Arrays.hashCode(signatures[i]);
+			List<Integer> same = identical.get(key);
+			if (same == null) {
+				same = new ArrayList<Integer>();
+				identical.put(key, same);
+			}
+			boolean joined = false;
+			for (int j : same) {
+				if (Arrays.equals(signatures[i], signatures[j])) {
+					union(parent, i, j);
+					joined = true;
+					break;
+				}
+			}
+			if (!joined) {
+				same.add(i);
+			}
+		}
+
+		// For each band, one question from each group seen with each band
+		// value. A question is compared with each of them, so a bucket of m
+		// questions in g groups costs about m*g comparisons rather than m*m.
+		for (int band = 0; band < BANDS; band++) {
+			Map<Long, List<Integer>> buckets = new HashMap<Long, List<Integer>>();
+			for (int i = 0; i < size; i++) {
+				if (signatures[i] == null) {
+					continue;
+				}
+				Long key = bandKey(signatures[i], band);
+				List<Integer> seen = buckets.get(key);
+				if (seen == null) {
+					seen = new ArrayList<Integer>();
+					buckets.put(key, seen);
+				}
+				for (int j : seen) {
+					if ((find(parent, i) != find(parent, j))
+							&& (similarity(signatures[i], signatures[j]) >= threshold)) {
+						union(parent, i, j);
+					}
+				}
+
+				// Keep one question per group - joining may have merged some.
+				Set<Integer> roots = new HashSet<Integer>();
+				for (Iterator<Integer> it = seen.iterator(); it.hasNext();) {
+					if (!roots.add(find(parent, it.next()))) {
+						it.remove();
+					}
+				}
+				if (!roots.contains(find(parent, i))) {
+					seen.add(i);
+				}
+			}
+		}
+
+		// Collect the groups, keyed by their root, in pool order.
+		Map<Integer, List<Question>> groups = new LinkedHashMap<Integer, List<Question>>();
+		Map<Integer, Integer> firsts = new HashMap<Integer, Integer>();
+		for (int i = 0; i < size; i++) {
+			if (signatures[i] == null) {
+				continue;
+			}
+			int root = find(parent, i);
+			if (!firsts.containsKey(root)) {
+				firsts.put(root, i);
+				groups.put(i, new ArrayList<Question>());
+			}
+			groups.get(firsts.get(root)).add(qPool.getQuestion(i));
+		}
+
+		List<List<Question>> duplicates = new ArrayList<List<Question>>();
+		for (List<Question> group : groups.values()) {
+			if (group.size() > 1) {
+				duplicates.add(group);
+			}
+		}
+		return duplicates;
+	}
+
+	/**
+	 * Estimate the similarity of two questions from their signatures.
+	 */
+	private static double similarity(int[] a, int[] b) {
+		int same = 0;
+		for (int i = 0; i < NUM_HASHES; i++) {
+			if (a[i] == b[i]) {
+				same++;
+			}
+		}
+		return (double) same / NUM_HASHES;
+	}
+
+	/**
+	 * Combine the values of one band of a signature into a bucket key.
+	 */
+	private static Long bandKey(int[] signature, int band) {
+		long key = band;
+		for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+			key = key * 0x9E3779B97F4A7C15L + signature[r];
+		}
+		return key;
+	}
+
+	private static void union(int[] parent, int i, int j) {
+		parent[find(parent, i)] = find(parent, j);
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];    // Halve the path as we go.
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Compute the MinHash signature of a question, or null if it has no words.
+	 */
+	private static int[] signature(Question q) {
+		List<String> words = new ArrayList<String>();
+		words.addAll(QuestionSearchIndex.tokenize(q.getQuestionText()));
+		words.addAll(QuestionSearchIndex.tokenize(DocumentUtils.getPlainText(q)));
+		if (q.getPossibleAnswers() != null) {
+			for (PossibleAnswer pa : q.getPossibleAnswers()) {
+				words.addAll(QuestionSearchIndex.tokenize(pa.getTheAnswer()));
+			}
+		}
+		if (words.isEmpty()) {
+			return null;
+		}
+
+		int[] signature = new int[NUM_HASHES];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+
+		int k = Math.min(SHINGLE_SIZE, words.size());
+		for (int start = 0; start + k <= words.size(); start++) {
+			long shingle = 0;
+			for (int w = start; w < start + k; w++) {
+				shingle = shingle * 31 + words.get(w).hashCode();
+			}
+
+			// The i'th hash of the shingle is h1 + i * h2, with h1 and h2
+			// taken from one well-mixed 64 bit value, then scrambled so the
+			// hashes don't all order the shingles alike.
+			long mixed = mix(shingle);
+			int h1 = (int) mixed;
+			int h2 = (int) (mixed >>> 32) | 1;
+			for (int i = 0; i < NUM_HASHES; i++) {
+				int h = h1 + i * h2;
+				h ^= h >>> 16;
+				h *= 0x45d9f3b;
+				h ^= h >>> 16;
+				if (h < signature[i]) {
+					signature[i] = h;
+				}
+			}
+		}
+		return signature;
+	}
+
+	/**
+	 * Scramble the bits of a value (the finalizer of MurmurHash3).
+	 */
+	private static long mix(long x) {
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		x *= 0xc4ceb93fe1a85ec3L;
+		x ^= x >>> 33;
+		return x;
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+import question.Question;
+import question.QuestionPool;
+import question.QuestionSampler;
+import question.QuestionType;
+import question.QuestionView;
+import question.Shuffler;
+
+
+// ExamVariantGenerator
+//-----------------------------------------------------------------------
+/**
+ * <p>Makes many variants of an exam from one question pool, without the
+ * GUI - e.g. to print, or hand out, a different exam to each student of a
+ * large sitting.</p>
+ * <ul>
+ * <li>Each variant draws its own questions from the pool (see
+ *     QuestionSampler), in its own order, with each question's answers in their own order - just as
+ *     JQuestions would when the pool is opened.
+ * <li>Each variant is written as a .jqs file of just its questions, in
+ *     that order, and a key file giving their correct answers.
+ * <li>Each variant has its own seed, made from the base seed and the
+ *     variant's number, so the same base seed always gives the same
+ *     variants, however many threads make them.
+ * <li>The pool is read once and shared; the variants are made and
+ *     written on several threads at once.
+ * </ul>
+ *
+ * <p>A key file has one line per question: its number in the variant,
+ * its index in the pool, its type, then the correct answers by the
+ * positions (from 1) they are shown at - for a drag-n-drop question, the
+ * answer of each field in turn.</p>
+ *
+ * @see Shuffler
+ * @see QuestionView
+ */
+
+public class ExamVariantGenerator {
+
+	public static final String KEY_EXTENSION = ".key";
+
+	private final QuestionPool qPool;
+	private QuestionSampler sampler = new QuestionSampler();
+	private int questionsPerVariant;
+	private int nThreads = Runtime.getRuntime().availableProcessors();
+
+
+	/**
+	 * @param qPool  the pool to draw the questions from. It is only read.
+	 * @throws IllegalArgumentException if the pool's sampling spec can't
+	 *                                  be read.
+	 */
+	public ExamVariantGenerator(QuestionPool qPool) {
+		this.qPool = qPool;
+		Integer n = qPool.getNumberOfQuestions();
+		questionsPerVariant = (n == null) ? 0 : n;
+		sampler.setSpec(qPool.getSampling(), qPool);
+	}
+
+	/**
+	 * @param n  the number of questions in each variant; 0 for all of them.
+	 *           At first, the pool's own number of questions.
+	 */
+	public void setQuestionsPerVariant(int n) {
+		questionsPerVariant = n;
+	}
+
+	/**
+	 * @param spec  how to draw each variant's questions, in place of the
+	 *              pool's own sampling spec (see QuestionSampler.setSpec()).
+	 * @throws IllegalArgumentException if the spec can't be read.
+	 */
+	public void setSampling(String spec) {
+		sampler.setSpec(spec, qPool);
+	}
+
+	/**
+	 * @param sampler  chooses each variant's questions, e.g. so each has
+	 *                 so many from each section. At first, a sampler set
+	 *                 up from the pool's sampling spec.
+	 */
+	public void setSampler(QuestionSampler sampler) {
+		this.sampler = sampler;
+	}
+
+	/**
+	 * @param n  the number of threads; at first, one per processor.
+	 */
+	public void setThreads(int n) {
+		nThreads = Math.max(1, n);
+	}
+
+	/**
+	 * @return the seed of a variant - the same for the same base seed and
+	 *         variant number.
+	 */
+	public static long getVariantSeed(long baseSeed, int variant) {
+		long x = baseSeed + (variant + 1) * 0x9E3779B97F4A7C15L;
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		return x;
+	}
+
+	// generate
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Make and write a number of variants.</p>
+	 *
+	 * @param dir  the directory to write them to.
+	 * @param baseName  the start of each file name; variant 1 is written
+	 *                  as baseName-001.jqs and baseName-001.key.
+	 * @param variants  the number of variants.
+	 * @param baseSeed  the seed the variants' seeds are made from.
+	 * @return the .jqs files written, in variant order.
+	 * @throws IOException if a file can't be written.
+	 */
+	public List<File> generate(final File dir, final String baseName,
+			int variants, final long baseSeed) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(nThreads, Math.max(1, variants)));
+		try {
+			List<Future<File>> futures = new ArrayList<Future<File>>();
+			for (int v = 1; v <= variants; v++) {
+				final int variant = v;
+				futures.add(executor.submit(new Callable<File>() {
+					public File call() throws Exception {
+						return writeVariant(dir, baseName, variant,
+								getVariantSeed(baseSeed, variant));
+					}
+				}));
+			}
+
+			List<File> files = new ArrayList<File>();
+			for (Future<File> future : futures) {
+				files.add(future.get());
+			}
+			return files;
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing variants");
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(String.valueOf(cause));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Make one variant and write its .jqs and key files.
+	 */
+	private File writeVariant(File dir, String baseName, int variant, long seed)
+			throws Exception {
+		Shuffler shuffler = new Shuffler(seed);
+		int[] ids = sampler.sample(qPool, questionsPerVariant, shuffler);
+
+		QuestionPool variantPool = new QuestionPool();
+		variantPool.setDescriptionText(qPool.getDescriptionText());
+		variantPool.setIsChangeAllowed(qPool.getIsChangeAllowed());
+		variantPool.setIsExam(qPool.getIsExam());
+		variantPool.setTimed(qPool.getTimed());
+		variantPool.setTimeLimit(qPool.getTimeLimit());
+		variantPool.setDisplayFinalScore(qPool.getDisplayFinalScore());
+		variantPool.setDisplayPrintOption(qPool.getDisplayPrintOption());
+		variantPool.setStudentName(qPool.getStudentName());
+		variantPool.setNumberOfQuestions(0);
+		variantPool.setScoringRule(qPool.getScoringRule());
+		variantPool.setScoringThreshold(qPool.getScoringThreshold());
+
+		String name = String.format("%s-%03d", baseName, variant);
+		File keyFile = new File(dir, name + KEY_EXTENSION);
+		BufferedWriter key = new BufferedWriter(new FileWriter(keyFile));
+		try {
+			key.write("# variant " + variant + " seed " + seed);
+			key.newLine();
+			for (int n = 0; n < ids.length; n++) {
+				QuestionView view = new QuestionView(qPool.getQuestion(ids[n]), shuffler);
+				variantPool.addQuestion(view.createQuestion());
+				key.write(keyLine(n + 1, ids[n], view));
+				key.newLine();
+			}
+		} finally {
+			key.close();
+		}
+
+		File jqsFile = new File(dir, name + ".jqs");
+		IOUtils.writeGZIPFile(jqsFile.getPath(), variantPool, false,
+				Deflater.DEFAULT_COMPRESSION, 1);
+		return jqsFile;
+	}
+
+	/**
+	 * The key line of one question.
+	 */
+	private static String keyLine(int number, int poolIndex, QuestionView view) {
+		Question question = view.getQuestion();
+		StringBuilder sb = new StringBuilder();
+		sb.append(number).append(' ').append(poolIndex);
+		if (question.getQuestionType() == QuestionType.MULTI_CHOICE) {
+			sb.append(" MC");
+			for (int p = 0; p < view.getNumberOfPossibleAnswers(); p++) {
+				if (view.isCorrectAnswer(p)) {
+					sb.append(' ').append(p + 1);
+				}
+			}
+		}
+		else {
+			sb.append(" DND");
+			for (int f = 0; f < question.getCorrectAnswers().size(); f++) {
+				sb.append(' ').append(view.getCorrectPosition(f) + 1);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Make variants from the command line:
+	 * <pre>
+	 * ExamVariantGenerator pool.jqs outputDir variants [questions [seed [sampling]]]
+	 * </pre>
+	 * <p>sampling overrides the pool's own sampling spec, e.g.
+	 * "tag:threads=5, difficulty:4=3, weight:12=0.5".</p>
+	 */
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.out.println("Usage: ExamVariantGenerator pool.jqs outputDir "
+					+ "variants [questions [seed [sampling]]]");
+			System.exit(1);
+			return;
+		}
+		int variants = Integer.parseInt(args[2]);
+		long seed = (args.length > 4) ? Long.parseLong(args[4]) : System.nanoTime();
+		int nThreads = Runtime.getRuntime().availableProcessors();
+
+		QuestionPool qPool;
+		try {
+			qPool = readPool(args[0], nThreads);
+		} catch (IOException ioe) {
+			System.out.println("ERROR Reading " + args[0] + ": " + ioe.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		ExamVariantGenerator generator;
+		try {
+			generator = new ExamVariantGenerator(qPool);
+			if (args.length > 5) {
+				generator.setSampling(args[5]);
+			}
+		} catch (IllegalArgumentException iae) {
+			System.out.println("ERROR Sampling spec: " + iae.getMessage());
+			System.exit(1);
+			return;
+		}
+		if (args.length > 3) {
+			generator.setQuestionsPerVariant(Integer.parseInt(args[3]));
+		}
+
+		String baseName = new File(args[0]).getName();
+		if (baseName.endsWith(".jqs")) {
+			baseName = baseName.substring(0, baseName.length() - 4);
+		}
+		File dir = new File(args[1]);
+		dir.mkdirs();
+
+		try {
+			List<File> files = generator.generate(dir, baseName, variants, seed);
+			System.out.println("Wrote " + files.size() + " variants to " + dir
+					+ " (seed " + seed + ")");
+		} catch (IOException ioe) {
+			System.out.println("ERROR Writing variants: " + ioe);
+			ioe.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Read a pool, and any changes journaled since, passing on every
+	 * error - unlike IOUtils.readFile, which only logs them, so a missing
+	 * or broken file would give empty variants.
+	 */
+	private static QuestionPool readPool(String fileName, int nThreads)
+			throws IOException {
+		QuestionPool qPool = new QuestionPool();
+		InputStream ins = new BufferedInputStream(new FileInputStream(fileName));
+		try {
+			IOUtils.readStream(ins, qPool, null, nThreads);
+		} finally {
+			ins.close();
+		}
+		JQSJournal.replay(fileName, qPool);
+		if (qPool.getSize() == 0) {
+			throw new IOException("No questions in the file");
+		}
+		return qPool;
+	}
+}
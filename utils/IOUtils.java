@@ -1,743 +1,1172 @@
-/*
- * Licensed to the Free Software Foundation (FSF) under one or more
- * contributor license agreements. The FSF licenses this file to You under 
- * the GNU General Public License, Version 3.0 (the "License"); you may 
- * not use this file except in compliance with the License.  You may obtain 
- * a copy of the License at
- *
- *      http://www.gnu.org/licenses/gpl-3.0.txt
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-
-package utils;
-
-import java.awt.Color;
-import java.awt.Component;
-import java.awt.Dimension;
-import java.awt.Image;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.StringTokenizer;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-
-import javax.swing.Icon;
-import javax.swing.ImageIcon;
-import javax.swing.JOptionPane;
-import javax.swing.JTextField;
-import javax.swing.SwingConstants;
-import javax.swing.border.LineBorder;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.DefaultStyledDocument;
-import javax.swing.text.Style;
-import javax.swing.text.StyleConstants;
-
-
-import question.PossibleAnswer;
-import question.Question;
-import question.QuestionPool;
-import question.QuestionType;
-
-// IOUtils
-//-----------------------------------------------------------------------
-/**
- * <p>IOUtils instances should NOT be constructed in standard programming.
- * The methods have been declared as <code>static</code> therefore, the class 
- * should be used as <code>IOUtils.readFile........
- * </code>.</p>
- * 
- * <p>File of general utilities for input/output.</p>
- * <ul>
- * <li>This code is used by both JQuestions and the JQuestions Editor
- *     applications. As such, I thought it best to put these functions
- *     into a separate utils class where they can be called by either.
- * <li>It also makes it easier to deal with changes to the JQuestions 
- *     file format, if needed.
- * <li>Throw exceptions where necessary.
- * </ul>
- *
- * <p>Each method documents its behaviour in more detail.</p>
- *
- * @author Ken Williams  <jquestions@truerandomness.com>
- *
- */
-
-public class IOUtils {
-
-	
-	// Save the file format version in the file itself, so in the future
-    // we can still read files of old versions.
-    private static final String FILE_FORMAT_VERSION = "0.9";
-
-	// The standard ASCII delimiter used between fields in file format.
-    private static final Character UNIT_SEPARATOR = '\u001F';
-    private static final String DELIM = UNIT_SEPARATOR.toString();
-    
-    // Empty field marker. 
-    private static final Character nsm = Character.NON_SPACING_MARK;
-    private static final String EMPTY_FIELD = nsm.toString();    	
-    
-    
-    /**
-     * <p>This constructor is public and only exists to permit tools that require 
-     * a JavaBean instance to operate.</p>
-     */
-    public IOUtils() {
-        super();
-    }
-    
-    /**
-     * Write the current pool of questions and configuration details 
-     * to a file of the given name.
-     * 
-     * @param fileName - File to write to.
-     * @param qPool - The currrent question pool.
-     * @param writeMarkedOnly - Boolean value, only write marked questions ?
-     */
-    // writeFile
-    //-----------------------------------------------------------------------
-	public static void writeFile(final String fileName, 
-			              final QuestionPool qPool, boolean writeMarkedOnly) {
-		
-		String descriptionText = qPool.getDescriptionText();
-		Boolean isChangeAllowed = qPool.getIsChangeAllowed();
-		Boolean isExam = qPool.getIsExam();
-		Boolean timed = qPool.getTimed();
-        Integer timeLimit = qPool.getTimeLimit(); 		
-		Boolean displayFinalScore = qPool.getDisplayFinalScore();
-		Boolean displayPrintOption = qPool.getDisplayPrintOption();
-		String studentName = qPool.getStudentName();
-        Integer numberOfQuestions = qPool.getNumberOfQuestions();
-                        
-        try {
-            FileOutputStream fos = new FileOutputStream(fileName);// Save to file
-            GZIPOutputStream gzos = new GZIPOutputStream(fos);    // Compressed
-            OutputStreamWriter osw = new OutputStreamWriter(gzos);    
-            BufferedWriter os = new BufferedWriter(osw);  // Buffered
-            
-            // Write format version number as part of file header.            
-        	os.write(FILE_FORMAT_VERSION + DELIM);
-
-        	// Write recommended Configuration settings
-        	String descText = descriptionText;
-        	if ((descText == null) || (descText.length() == 0)) {
-        		descText = EMPTY_FIELD;
-        	}
-        	os.write(descText + DELIM);
-
-        	if (isChangeAllowed == true) {
-				os.write("T" + DELIM);
-			} else {
-				os.write("F" + DELIM);
-			}        	
-
-			if (isExam == true) {
-				os.write("T" + DELIM);
-			} else {
-				os.write("F" + DELIM);
-			}        	
-
-			if (timed == true) {
-				os.write("T" + DELIM);
-			} else {
-				os.write("F" + DELIM);
-			}        	
-
-			os.write(timeLimit + DELIM);
-
-			if (displayFinalScore == true) {
-				os.write("T" + DELIM);
-			} else {
-				os.write("F" + DELIM);
-			}        	
-
-			if (displayPrintOption == true) {
-				os.write("T" + DELIM);
-			} else {
-				os.write("F" + DELIM);
-			}        	
-
-        	String nameText = studentName;
-        	if ((nameText == null) || (nameText.length() == 0)) {
-        		nameText = EMPTY_FIELD;
-        	}
-        	os.write(nameText + DELIM);
-			
-        	
-			os.write(numberOfQuestions + DELIM);
-        	
-        	
-            // For each question, write all fields data.
-            for (int i=0; i < qPool.getSize(); i++) {
-            	Question q = qPool.getQuestion(i);
-            
-            	// Are we only saving marked questions?
-            	if ((writeMarkedOnly) && (q.isMarked() == false)) {
-            		continue;
-            	}
-            	
-            	
-            	String qText = q.getQuestionText();
-            	if ((qText == null) || (qText.length() == 0)) {
-            		qText = EMPTY_FIELD;
-            	}
-            	os.write(qText + DELIM);
-            	
-            	String hintText = q.getHintText();
-            	if ((hintText == null) || (hintText.length() == 0)) {
-            		hintText = EMPTY_FIELD;
-            	}            	
-            	os.write(hintText + DELIM);
-            	
-            	String eText = q.getExplainText();
-            	if ((eText == null) || (eText.length() == 0)) {
-            		eText = EMPTY_FIELD;
-            	}            	            	
-            	os.write(eText + DELIM);
-            	
-            	String qType = null;
-            	if (q.getQuestionType() == QuestionType.MULTI_CHOICE) {
-            		qType = "1";
-            	}
-            	else
-               	if (q.getQuestionType() == QuestionType.DRAG_N_DROP) {
-               		qType = "2";
-               	}
-            	os.write(qType + DELIM);
-              
-            	List<PossibleAnswer> pAnswers = q.getPossibleAnswers();
-            	int numPAnswers = pAnswers.size();
-            	os.write(numPAnswers + DELIM);
-            	
-            	String pString = new String();
-                for (int j=0; j < numPAnswers; j++) {
-                	String pVal = pAnswers.get(j).getTheAnswer();
-                	if ((pVal == null) || (pVal.length() == 0)) {
-                		pVal = EMPTY_FIELD;
-                	}            	            	
-                	pString += pVal + DELIM;
-
-                	pVal = pAnswers.get(j).getAnswerExplanation().toString();
-                	if ((pVal == null) || (pVal.length() == 0)) {
-                		pVal = EMPTY_FIELD;
-                	}            	            	
-                	pString += pVal + DELIM;                	
-                }
-                os.write(pString + DELIM);
-
-            	List<Integer> cAnswers = q.getCorrectAnswers();
-            	int numCAnswers = cAnswers.size();
-            	os.write(numCAnswers + DELIM);            	
-
-            	String cString = new String();
-                for (int k=0; k < numCAnswers; k++) {
-                	Integer cVal = cAnswers.get(k);
-                	cString += cVal + DELIM;                	
-                }
-                os.write(cString + DELIM);
-
-            	// DefaultStyledDocument qDoc
-            	DefaultStyledDocument qDoc = q.getQuestionDoc();
-
-        		int len = qDoc.getLength();
-
-		        // DEBUG - Do a text dump of the DefaultStyledDocument.
-		        //doc.dump(System.out);
-
-		        // 1. Get the text.
-		        String docTxt = qDoc.getText(0, len);
-
-		        // Get references to any Images and JTextFields we may find.
-		        HashMap<ImageIcon, Integer> imageIconMap = new HashMap<ImageIcon, Integer>();
-		        HashMap<JTextField, Integer> textFieldMap = new HashMap<JTextField, Integer>();
-		        
-		        // For each character element in the StyledDoc...
-				for (int c = 0; c < qDoc.getLength(); c++) {
-					
-					// 2. Identify any JTextFields
-					Component comp = StyleConstants.getComponent(qDoc
-							.getCharacterElement(c).getAttributes());
-					if (comp != null && (comp instanceof JTextField)) {						
-						JTextField jtf = (JTextField) comp;
-						// Assign fields names ?
-						// String str = jtf.getText(); System.out.println("getText() = " + str);
-						// str = jtf.getName(); System.out.println("getName() = " + str);
-						textFieldMap.put(jtf, c);
-					}
-					
-					// 3. Identify any Images			
-					Icon icon = StyleConstants.getIcon(qDoc
-							.getCharacterElement(c).getAttributes());
-			
-					if (icon != null && (icon instanceof Icon)) {
-						ImageIcon imageIcon = (ImageIcon) icon;						      
-						imageIconMap.put(imageIcon, c);
-					}
-				}
-
-            	// We need to save enough details so we can reconstruct 
-            	// the DefaultStyledDocument afterwards.
-				
-				// Save the text string.
-                os.write(docTxt + DELIM);
-                
-                // Save the number of Images we found (maybe zero...)
-                os.write(imageIconMap.size() + DELIM);
-
-                // Loop over HashMap of ImageIcons, saving details as we go.
-                for (Map.Entry<ImageIcon, Integer> entry : imageIconMap.entrySet()) {
-
-                    // Save image properties.
-                    ImageIcon imageIcon = entry.getKey();
-                	Image image = imageIcon.getImage();
-                	int w = imageIcon.getIconWidth();
-	    			int h = imageIcon.getIconHeight();
-	    			int pos = entry.getValue();
-                	int[] imagePixels = ImageUtils.getArrayFromImage(image, w, h);
-	                os.write(w + DELIM);
-	                os.write(h + DELIM);
-	                os.write(pos + DELIM);
-	                
-	                // Convert an array of ints into a string.
-	                StringBuilder pixelStr = new StringBuilder();
-	                for (int x=0; x < imagePixels.length; x++) {
-	                	pixelStr.append(imagePixels[x] + ",");
-	                }	                	                
-	                os.write(pixelStr + DELIM);
-                }
-                
-                // Save the number of JTextFields we found (maybe zero...)
-                os.write(textFieldMap.size() + DELIM);
-
-                // Loop over HashMap of JTextFields, saving details as we go.
-                for (Map.Entry<JTextField, Integer> entry : textFieldMap.entrySet()) {
-                    JTextField jtf = entry.getKey();
-                    
-                    // Save JTextField properties
-                    int pos = entry.getValue();
-                    String fieldText = jtf.getText();
-                    
-	                os.write(pos + DELIM);
-                	os.write(fieldText + DELIM);
-                }
-            }
-                        
-            os.flush();
-            os.close();
-
-        } catch (IOException ioe) {
-      	    System.out.println("ERROR Saving File(" + fileName + "): " + ioe);      	    
-      	    ioe.printStackTrace();
-        } catch (Exception e) {
-        	System.out.println("Exception Saving File " + fileName + "\n" + e);
-        	e.printStackTrace();
-        }				
-	}	
-
-
-	/**
-	 *   
-     * Read from the given file to the current pool of questions and also 
-     * configuration details 
-     *
-	 * @param fileName - the file to read.
-	 * @param qPool - the current question pool.
-	 * @param classRef - The Class object is needed if we need to read
-	 *                   from a Resource File (for instance, when JQuestions
-	 *                   is running as an Applet in Demo-Mode).  
-	 */
-	public static void readFile(final String fileName, final QuestionPool qPool, Class classRef) {
-
-		// Build up the input.
-		StringBuilder input = new StringBuilder();
-
-		try {
-
-			GZIPInputStream gzis = null;  // Compressed file format.
-
-			// Read a resource file. 
-			if (classRef != null) {
-				InputStream ins = classRef.getResourceAsStream(fileName); 
-				gzis = new GZIPInputStream(ins);
-			}
-			else { // Read ordinary file object as a stream.
-				FileInputStream fis = new FileInputStream(fileName);				
-				gzis = new GZIPInputStream(fis);
-			}
-
-			InputStreamReader isw = new InputStreamReader(gzis); // 
-			BufferedReader is = new BufferedReader(isw);// Buffered
-
-			// Input may contain multiple lines.			
-	        char[] buff = new char[1024];
-	        int numRead = 0;
-	        while((numRead = is.read(buff)) != -1){
-	            input.append(buff, 0, numRead);
-	        }
-	        
-            // Close input stream.
-	        is.close();
-
-	        // Start processing tokens.
-	        String str = input.toString();
-            processInput(str, qPool);
-						
-
-		} catch (IOException ioe) {
-			System.out.println("ERROR Reading File(" + fileName + "): " + ioe);
-			ioe.printStackTrace();
-		} catch (Exception e) {
-			System.out.println("Exception Reading File " + fileName + "\n" + e);
-			e.printStackTrace();
-		}
-
-		// DEBUG code 
-		//System.out.println("Read File " + fileName + "\n");
-		//System.out.println("qp.size() = " + qPool.getSize());
-		//qPool.printAllQuestions();
-		//
-	}
-
-	/**
-	 * Tokenises the input stream, constructs objects, reads values, 
-	 * stores information throws errors where necessary.
-	 * 
-	 * @param line
-	 * @param qPool
-	 */
-	
-	// Processes one String, constructs Question objects. 
-	public static void processInput(final String line, final QuestionPool qPool) {
-
-		Question question = null;
-		String fileFormatVersion = null;
-        
-		// Tell StringTokenizer to silently discard DELIM tokens.
-		// boolean keepDELIMTokens = false;
-		StringTokenizer st = new StringTokenizer(line, DELIM, false);
-		
-		// Read file format version number. 
-		fileFormatVersion = st.nextToken();
-
-		// Perform any checks on file format version number.
-		if (fileFormatVersion.compareToIgnoreCase(FILE_FORMAT_VERSION)> 0) {
-			JOptionPane.showMessageDialog(null,
-		    "Newer file format. You need to upgrade JQuestions to a newer version\n"
-			+ "to read this file. Visit http://sourceforge.net/projects/jquestions",
-		    "File Format Version Error",
-		    JOptionPane.ERROR_MESSAGE);
-			return;
-		}
-	
-		
-    	// Read recommended Configuration settings
-		String descriptionText;
-    	String descText = st.nextToken();
-    	if (descText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-    		descriptionText = "";
-    	}
-    	descriptionText = descText;
-    	qPool.setDescriptionText(descriptionText);
-
-   	
-    	Boolean isChangeAllowed;
-    	String isChangeText = st.nextToken();
-    	if (isChangeText.compareToIgnoreCase("T") == 0) {
-            isChangeAllowed = new Boolean(true);    		
-    	}
-    	else {
-    	    isChangeAllowed = new Boolean(false);
-    	}
-    	qPool.setIsChangeAllowed(isChangeAllowed);
-    	
-    	
-    	Boolean isExam;
-    	String isExamText = st.nextToken();
-    	if (isExamText.compareToIgnoreCase("T") == 0) {
-            isExam = new Boolean(true);    		
-    	}
-    	else {
-    	    isExam = new Boolean(false);
-    	}
-    	qPool.setIsExam(isExam);
-
-
-    	Boolean timed;
-    	String timedText = st.nextToken();
-    	if (timedText.compareToIgnoreCase("T") == 0) {
-            timed = new Boolean(true);    		
-    	}
-    	else {
-    	    timed = new Boolean(false);
-    	}
-    	qPool.setTimed(timed);
-    	
-    	
-    	String timeLimitText =  st.nextToken();
-        Integer timeLimit = Integer.parseInt(timeLimitText);
-    	qPool.setTimeLimit(timeLimit);
-
-    	Boolean displayFinalScore;
-    	String finalScoreText =  st.nextToken();
-    	if (finalScoreText.compareToIgnoreCase("T") == 0) {
-            displayFinalScore = new Boolean(true);    		
-    	}
-    	else {
-    	    displayFinalScore = new Boolean(false);
-    	}
-    	qPool.setDisplayFinalScore(displayFinalScore);
-    	
-    	Boolean displayPrintOption;
-    	String printOptionText =  st.nextToken();
-    	if (printOptionText.compareToIgnoreCase("T") == 0) {
-            displayPrintOption = new Boolean(true);    		
-    	}
-    	else {
-    	    displayPrintOption = new Boolean(false);
-    	}
-    	qPool.setDisplayPrintOption(displayPrintOption);
-
-    	
-    	String studentNameText =  st.nextToken();    	
-    	if (studentNameText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-    		studentNameText = "";
-    	}
-    	qPool.setStudentName(studentNameText);
-    	
-    	String nQuestionsText =  st.nextToken();
-        Integer numberOfQuestions = Integer.parseInt(nQuestionsText);
-        qPool.setNumberOfQuestions(numberOfQuestions);
-   
-              
-		// Read fields for each new Question object.
-		// Just ignore the "tokens" that consist of DELIM.
-		while (st.hasMoreTokens()) {
-        	String qText =  st.nextToken();
-        	if (qText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-        		qText = "";
-        	}
-        	
-        	String hintText = st.nextToken();
-        	if (hintText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-        		hintText = "";
-        	}
-        	
-        	String eText = st.nextToken();
-        	if (eText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-        		eText = "";
-        	}
-        	
-        	String qType = st.nextToken();
-
-        	QuestionType questionType = null;
-        	if (qType.compareToIgnoreCase("1") == 0) {
-        		questionType = QuestionType.MULTI_CHOICE;
-        	}
-        	else 
-           	if (qType.compareToIgnoreCase("2") == 0) {
-           		questionType = QuestionType.DRAG_N_DROP;
-           	}
-        	  	
-        	List<PossibleAnswer> pAnswers = new ArrayList<PossibleAnswer>();
-        	String strPAnswers = st.nextToken();
-        	int numPAnswers = Integer.parseInt(strPAnswers);
-
-
-          	String pString = null;
-          	String eString = null;
-            for (int j=0; j < numPAnswers; j++) {
-            	pString = st.nextToken();
-            	if (pString.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-            		pString = "";
-            	}
-
-            	eString = st.nextToken();
-            	if (eString.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-            		eString = "";
-            	}
-            	            	
-            	pAnswers.add(new PossibleAnswer(pString, false, j, new StringBuilder(eString)));
-            }
-
-        	List<Integer> cAnswers = new ArrayList<Integer>();
-        	String strCAnswers = st.nextToken();
-        	int numCAnswers = Integer.parseInt(strCAnswers);
-
-          	String cString = null;
-            for (int j=0; j < numCAnswers; j++) {
-            	cString = st.nextToken();
-            	int cInt = Integer.parseInt(cString);
-            	cAnswers.add(cInt);
-            }
-            
-            // Read DefaultStyledDocument properties.
-            String null1 = null;
-            DefaultStyledDocument dsd = new DefaultStyledDocument();
-
-            // Read the doc text.
-            String docText = st.nextToken();
-        	if (docText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
-        		docText = "";
-        	}
-
-        	try {
-        		dsd.insertString(0, docText, null);
-        	} catch (BadLocationException ble) {
-        		System.out.println("ERROR: " + ble);
-        		ble.printStackTrace();
-        	}
-        	
-        	
-            // Read the number of Images we found (maybe zero...)
-        	String imageCountStr = st.nextToken();
-        	int imageCount = Integer.parseInt(imageCountStr);
-            
-        	
-            // Read details of ImageIcons (if any).
-        	for (int i=0; i<imageCount; i++) {
-                String tempStr = st.nextToken();
-                int w = Integer.parseInt(tempStr);
-                
-                tempStr = st.nextToken();
-                int h = Integer.parseInt(tempStr);
-
-                tempStr = st.nextToken();
-                int pos = Integer.parseInt(tempStr);
-                
-                // Int array of image pixels, read as a String.
-                tempStr = st.nextToken();
-                                
-                // Convert input String into array of ints.
-                final int imageSize = h * w;
-            	int[] pixelArray = new int[imageSize];  
-            	
-            	String[] splitStr = tempStr.split(",");
-            	for(int z = 0; z < imageSize; z++) 
-            		pixelArray[z] = Integer.parseInt(splitStr[z]);
-                
-            	Image image = ImageUtils.getImageFromArray(pixelArray, w, h);
-            	ImageIcon imageIcon = new ImageIcon(image);
-            	
-            	// Reinsert image into 'dsd' String at correct position.
-            	try {
-                    // The image must first be wrapped in a style
-                    Style style = dsd.addStyle("StyleName", null);
-                    StyleConstants.setIcon(style, imageIcon);
-                
-                    // Insert the image at the correct position in the text.
-                    // NOTE! You MUST insert a string representation of PRECISELY ONE
-                    // char in length (namely "X", below) in order to insert ONE image.
-                    // Remove the blank space first.
-                    dsd.remove(pos, 1);
-                    // Now insert the Image.
-                    dsd.insertString(pos, "X", style);
-            	} catch (BadLocationException ble) {
-            		System.out.println("ERROR: " + ble);
-            		ble.printStackTrace();                    
-            	}
-            }                
-            
-
-            // Read the number of JTextFields we found (maybe zero...)
-        	String jtfCountStr = st.nextToken();
-        	int jtfCount = Integer.parseInt(jtfCountStr);
-
-
-            // Read properties of JTextFields (if any).
-        	for (int i=0; i<jtfCount; i++) {
-                String tempStr = st.nextToken();
-                int pos = Integer.parseInt(tempStr);
-
-                tempStr = st.nextToken();
-                String textField = tempStr;
-            	
-            	// Create new JTextField component.
-            	JTextField newJTF = createNewJTextField(textField);
-
-            	// Reinsert the JTextField into 'dsd' String at correct pos.
-            	try {
-                    // The component must first be wrapped in a style
-                    Style style = dsd.addStyle("StyleName", null);
-                    StyleConstants.setComponent(style, newJTF);
-                
-                    // Insert the JTextField at the correct position in the text.
-                    // NOTE! You MUST insert a string representation of PRECISELY ONE
-                    // char in length (namely "X", below) in order to insert ONE component.
-                    // Remove the blank space first.
-                    dsd.remove(pos, 1);
-                    // Now insert the JTextField.
-                    dsd.insertString(pos, "X", style);
-            	} catch (BadLocationException ble) {
-            		System.out.println("ERROR: " + ble);
-            		ble.printStackTrace();
-            	}
-            	
-        	}        	
-        	
-        	// Instantiate new Question object.
-            question = new Question(null1, qText, pAnswers, cAnswers, questionType, dsd, hintText, eText, false);
-            
-            //question.analyzeDoc();
-                        
-            // Add new question to pool.
-            qPool.addQuestion(question);
-		}
-	}
-	
-	// createNewJTextField 
-	//-----------------------------------------------------------------------
-	/**
-	 * <p>Given a text string this method constructs a 'standard', JQuestions
-	 * JTextField object, used as a drop-target in a DRAG_N_DROP type Question.
-	 *  
-	 * This method may become more complex as features are added.
-	 *
-	 * A Builder Design Pattern method is used. This method has been declared  
-	 * as <code>static</code> so it can be called without instantiating
-	 * an IOUtils object.
-	 *
-	 * @param str  The initial string of text (if any) the JTextField is to 
-	 *             contain. 
-	 * @return a JTextField containing the text, formatted and constructed in
-	 *         the standard way for JQuestions. 
-	*/     
-	  
-	public static JTextField createNewJTextField(String str) {
-	      JTextField jtf = new JTextField(str);  // Set initial text (if any).
-	      jtf.setHorizontalAlignment(SwingConstants.CENTER);
-	      jtf.setBackground(Color.cyan);
-	      jtf.setOpaque(true);
-	      jtf.setEditable(false);
-	      jtf.setBorder(LineBorder.createBlackLineBorder());
-	      jtf.setColumns(10);
-	      int w = 80;
-	      int h = 15;
-	      Dimension dim = new Dimension(w, h);
-	      jtf.setMaximumSize(dim);
-	  
-	      return jtf;	  
-	}
-	  
-	// Useful debug method.  
-	public static void printResults(String input, Object[] outputs) {
-		System.out.println("Input: " + input);
-		for (int i = 0; i < outputs.length; i++)
-			System.out.println("Output " + i + " was: " + outputs[i]);
-	}	
-}
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under 
+ * the GNU General Public License, Version 3.0 (the "License"); you may 
+ * not use this file except in compliance with the License.  You may obtain 
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.swing.JTextField;
+import javax.swing.SwingConstants;
+import javax.swing.border.LineBorder;
+
+
+import question.LazyQuestionPool;
+import question.PossibleAnswer;
+import question.Question;
+import question.QuestionContent;
+import question.QuestionPool;
+import question.QuestionType;
+import question.ScoringRule;
+
+// IOUtils
+//-----------------------------------------------------------------------
+/**
+ * <p>IOUtils instances should NOT be constructed in standard programming.
+ * The methods have been declared as <code>static</code> therefore, the class 
+ * should be used as <code>IOUtils.readFile........
+ * </code>.</p>
+ * 
+ * <p>File of general utilities for input/output.</p>
+ * <ul>
+ * <li>This code is used by both JQuestions and the JQuestions Editor
+ *     applications. As such, I thought it best to put these functions
+ *     into a separate utils class where they can be called by either.
+ * <li>It also makes it easier to deal with changes to the JQuestions 
+ *     file format, if needed.
+ * <li>Throw exceptions where necessary.
+ * </ul>
+ *
+ * <p>Each method documents its behaviour in more detail.</p>
+ *
+ * @author Ken Williams  <jquestions@truerandomness.com>
+ *
+ */
+
+public class IOUtils {
+
+	
+	// Save the file format version in the file itself, so in the future
+    // we can still read files of old versions.
+    // 0.91 - images may be stored as PNG (see PNG_IMAGE) rather than as 
+    //        comma-separated pixels. 0.9 files are still read.
+    // 0.92 - the configuration settings end with the scoring rule and 
+    //        threshold and the sampling spec (see QuestionSampler.setSpec()),
+    //        followed by a table in which each distinct image is stored 
+    //        once; questions refer to it by id (see IMAGE_REF), and end 
+    //        with their difficulty and tags. 0.91 files are still read, 
+    //        and score all or nothing and draw every question with equal 
+    //        chance.
+    private static final String FILE_FORMAT_VERSION = "0.92";
+    private static final String IMAGE_TABLE_VERSION = "0.92";
+
+	// The standard ASCII delimiter used between fields in file format.
+    private static final Character UNIT_SEPARATOR = '\u001F';
+    private static final String DELIM = UNIT_SEPARATOR.toString();
+    
+    // Empty field marker. 
+    private static final Character nsm = Character.NON_SPACING_MARK;
+    private static final String EMPTY_FIELD = nsm.toString();    	
+    
+    // Marks an image stored as hex-encoded PNG data.
+    private static final String PNG_IMAGE = "png:";
+    
+    // Marks a reference to an image in the file's image table.
+    private static final String IMAGE_REF = "img:";
+    
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
+    
+    /**
+     * <p>This constructor is public and only exists to permit tools that require 
+     * a JavaBean instance to operate.</p>
+     */
+    public IOUtils() {
+        super();
+    }
+    
+    /**
+     * Write the current pool of questions and configuration details 
+     * to a file of the given name.
+     * 
+     * @param fileName - File to write to.
+     * @param qPool - The currrent question pool.
+     * @param writeMarkedOnly - Boolean value, only write marked questions ?
+     */
+    // writeFile
+    //-----------------------------------------------------------------------
+	public static void writeFile(final String fileName, 
+			              final QuestionPool qPool, boolean writeMarkedOnly) {
+		writeFile(fileName, qPool, writeMarkedOnly, 
+				Deflater.DEFAULT_COMPRESSION, 1);
+	}
+
+    /**
+     * Write the current pool of questions and configuration details 
+     * to a file of the given name, compressing on several threads.
+     * 
+     * With more than one thread the file is written as a sequence of 
+     * independently compressed gzip members - see ParallelGZIPOutputStream.
+     * It is read back exactly as before.
+     * 
+     * @param fileName - File to write to.
+     * @param qPool - The currrent question pool.
+     * @param writeMarkedOnly - Boolean value, only write marked questions ?
+     * @param compressionLevel - 0-9, or Deflater.DEFAULT_COMPRESSION.
+     * @param compressThreads - number of threads compressing the file.
+     */
+	public static void writeFile(final String fileName, 
+			              final QuestionPool qPool, boolean writeMarkedOnly,
+			              final int compressionLevel, int compressThreads) {
+		
+        try {
+        	writeGZIPFile(fileName, qPool, writeMarkedOnly, 
+        			compressionLevel, compressThreads);
+        } catch (IOException ioe) {
+      	    System.out.println("ERROR Saving File(" + fileName + "): " + ioe);      	    
+      	    ioe.printStackTrace();
+        } catch (Exception e) {
+        	System.out.println("Exception Saving File " + fileName + "\n" + e);
+        	e.printStackTrace();
+        }				
+	}	
+
+	/**
+	 * Write the file as described for writeFile, but let any error
+	 * through to the caller - e.g. so a JQSJournal can tell whether 
+	 * compacting a file succeeded, or the editor can report a failed save.
+	 */
+	public static void writeGZIPFile(final String fileName, 
+			              final QuestionPool qPool, boolean writeMarkedOnly,
+			              final int compressionLevel, int compressThreads) 
+	        throws Exception {
+		
+		String descriptionText = qPool.getDescriptionText();
+		Boolean isChangeAllowed = qPool.getIsChangeAllowed();
+		Boolean isExam = qPool.getIsExam();
+		Boolean timed = qPool.getTimed();
+        Integer timeLimit = qPool.getTimeLimit(); 		
+		Boolean displayFinalScore = qPool.getDisplayFinalScore();
+		Boolean displayPrintOption = qPool.getDisplayPrintOption();
+		String studentName = qPool.getStudentName();
+        Integer numberOfQuestions = qPool.getNumberOfQuestions();
+        ScoringRule scoringRule = qPool.getScoringRule();
+        Integer scoringThreshold = qPool.getScoringThreshold();
+        // Weights refer to questions by number, which only hold for 
+        // the whole pool.
+        String sampling = writeMarkedOnly ? "" : qPool.getSampling();
+                        
+        FileOutputStream fos = new FileOutputStream(fileName);// Save to file
+        OutputStream gzos = null;                             // Compressed
+        try {
+            if (compressThreads > 1) {
+            	gzos = new ParallelGZIPOutputStream(fos, compressionLevel, compressThreads);
+            }
+            else {
+            	gzos = new GZIPOutputStream(fos) {
+            		{
+            			def.setLevel(compressionLevel);
+            		}
+            	};
+            }
+        } finally {
+        	if (gzos == null) {
+        		fos.close();
+        	}
+        }
+        OutputStreamWriter osw = new OutputStreamWriter(gzos);    
+        BufferedWriter os = new BufferedWriter(osw);  // Buffered
+            
+        // Closing os also closes the file, and stops the threads of a
+        // ParallelGZIPOutputStream - so it must be closed, whatever happens.
+        try {
+            // Write format version number as part of file header.            
+        	os.write(FILE_FORMAT_VERSION + DELIM);
+
+        	// Write recommended Configuration settings
+        	String descText = descriptionText;
+        	if ((descText == null) || (descText.length() == 0)) {
+        		descText = EMPTY_FIELD;
+        	}
+        	os.write(descText + DELIM);
+
+        	if (isChangeAllowed == true) {
+				os.write("T" + DELIM);
+			} else {
+				os.write("F" + DELIM);
+			}        	
+
+			if (isExam == true) {
+				os.write("T" + DELIM);
+			} else {
+				os.write("F" + DELIM);
+			}        	
+
+			if (timed == true) {
+				os.write("T" + DELIM);
+			} else {
+				os.write("F" + DELIM);
+			}        	
+
+			os.write(timeLimit + DELIM);
+
+			if (displayFinalScore == true) {
+				os.write("T" + DELIM);
+			} else {
+				os.write("F" + DELIM);
+			}        	
+
+			if (displayPrintOption == true) {
+				os.write("T" + DELIM);
+			} else {
+				os.write("F" + DELIM);
+			}        	
+
+        	String nameText = studentName;
+        	if ((nameText == null) || (nameText.length() == 0)) {
+        		nameText = EMPTY_FIELD;
+        	}
+        	os.write(nameText + DELIM);
+			
+        	
+			os.write(numberOfQuestions + DELIM);
+
+			os.write(scoringRule.name() + DELIM);
+			os.write(scoringThreshold + DELIM);
+
+        	if ((sampling == null) || (sampling.length() == 0)) {
+        		sampling = EMPTY_FIELD;
+        	}
+			os.write(sampling + DELIM);
+        	
+			// Write each distinct image once, in the image table.
+			ImageStore imageStore = new ImageStore();
+            for (int i=0; i < qPool.getSize(); i++) {
+            	Question q = qPool.getQuestion(i);
+            	if ((writeMarkedOnly) && (q.isMarked() == false)) {
+            		continue;
+            	}
+            	QuestionContent qContent = DocumentUtils.getQuestionContent(q);
+            	for (QuestionContent.ImageRef image : qContent.getImages()) {
+            		imageStore.add(image.getPNG());
+            	}
+            }
+            os.write(imageStore.getImageCount() + DELIM);
+            for (int i=0; i < imageStore.getImageCount(); i++) {
+                os.write(PNG_IMAGE);
+                writeHex(os, imageStore.getPNG(i));
+                os.write(DELIM);
+            }
+        	
+            // For each question, write all fields data.
+            for (int i=0; i < qPool.getSize(); i++) {
+            	Question q = qPool.getQuestion(i);
+            
+            	// Are we only saving marked questions?
+            	if ((writeMarkedOnly) && (q.isMarked() == false)) {
+            		continue;
+            	}
+            	
+            	
+            	String qText = q.getQuestionText();
+            	if ((qText == null) || (qText.length() == 0)) {
+            		qText = EMPTY_FIELD;
+            	}
+            	os.write(qText + DELIM);
+            	
+            	String hintText = q.getHintText();
+            	if ((hintText == null) || (hintText.length() == 0)) {
+            		hintText = EMPTY_FIELD;
+            	}            	
+            	os.write(hintText + DELIM);
+            	
+            	String eText = q.getExplainText();
+            	if ((eText == null) || (eText.length() == 0)) {
+            		eText = EMPTY_FIELD;
+            	}            	            	
+            	os.write(eText + DELIM);
+            	
+            	String qType = null;
+            	if (q.getQuestionType() == QuestionType.MULTI_CHOICE) {
+            		qType = "1";
+            	}
+            	else
+               	if (q.getQuestionType() == QuestionType.DRAG_N_DROP) {
+               		qType = "2";
+               	}
+            	os.write(qType + DELIM);
+              
+            	List<PossibleAnswer> pAnswers = q.getPossibleAnswers();
+            	int numPAnswers = pAnswers.size();
+            	os.write(numPAnswers + DELIM);
+            	
+            	String pString = new String();
+                for (int j=0; j < numPAnswers; j++) {
+                	String pVal = pAnswers.get(j).getTheAnswer();
+                	if ((pVal == null) || (pVal.length() == 0)) {
+                		pVal = EMPTY_FIELD;
+                	}            	            	
+                	pString += pVal + DELIM;
+
+                	pVal = pAnswers.get(j).getAnswerExplanation().toString();
+                	if ((pVal == null) || (pVal.length() == 0)) {
+                		pVal = EMPTY_FIELD;
+                	}            	            	
+                	pString += pVal + DELIM;                	
+                }
+                os.write(pString + DELIM);
+
+            	List<Integer> cAnswers = q.getCorrectAnswers();
+            	int numCAnswers = cAnswers.size();
+            	os.write(numCAnswers + DELIM);            	
+
+            	String cString = new String();
+                for (int k=0; k < numCAnswers; k++) {
+                	Integer cVal = cAnswers.get(k);
+                	cString += cVal + DELIM;                	
+                }
+                os.write(cString + DELIM);
+
+            	// The question text, images and drop fields.
+            	QuestionContent qContent = DocumentUtils.getQuestionContent(q);
+
+            	// We need to save enough details so we can reconstruct 
+            	// the DefaultStyledDocument afterwards.
+				
+				// Save the text string.
+                os.write(qContent.getText() + DELIM);
+                
+                // Save the number of Images we found (maybe zero...)
+                os.write(qContent.getImages().size() + DELIM);
+
+                // Loop over the Images, saving details as we go.
+                for (QuestionContent.ImageRef image : qContent.getImages()) {
+
+                    // Save image properties.
+	                os.write(image.getWidth() + DELIM);
+	                os.write(image.getHeight() + DELIM);
+	                os.write(image.getPosition() + DELIM);
+	                
+	                // Refer to the image in the image table.
+	                os.write(IMAGE_REF + imageStore.add(image.getPNG()) + DELIM);
+                }
+                
+                // Save the number of JTextFields we found (maybe zero...)
+                os.write(qContent.getBlanks().size() + DELIM);
+
+                // Loop over the JTextFields, saving details as we go.
+                for (QuestionContent.Blank blank : qContent.getBlanks()) {
+	                os.write(blank.getPosition() + DELIM);
+                	os.write(blank.getText() + DELIM);
+                }
+
+                // Save the difficulty, and the number of tags and each tag.
+                Integer difficulty = q.getDifficulty();
+                if (difficulty == null) {
+                	difficulty = 0;
+                }
+                os.write(difficulty + DELIM);
+                os.write(q.getTags().size() + DELIM);
+                for (String tag : q.getTags()) {
+                	os.write(tag + DELIM);
+                }
+            }
+                        
+            os.flush();
+        } finally {
+            os.close();
+        }
+	}	
+
+
+
+    /**
+     * Write the current pool of questions and configuration details 
+     * to a file of the given name, in the indexed format.
+     * 
+     * Each question is stored as a separate record, with an offset table
+     * at the end of the file, so a reader can go straight to any question 
+     * without decoding the ones before it. readFile() reads either format.
+     * 
+     * @param fileName - File to write to.
+     * @param qPool - The currrent question pool.
+     * @param writeMarkedOnly - Boolean value, only write marked questions ?
+     * @see JQSIndexedFile
+     */
+    // writeIndexedFile
+    //-----------------------------------------------------------------------
+	public static void writeIndexedFile(final String fileName, 
+			              final QuestionPool qPool, boolean writeMarkedOnly) {
+        try {
+        	JQSIndexedFile.write(fileName, qPool, writeMarkedOnly);
+        } catch (IOException ioe) {
+      	    System.out.println("ERROR Saving File(" + fileName + "): " + ioe);      	    
+      	    ioe.printStackTrace();
+        } catch (Exception e) {
+        	System.out.println("Exception Saving File " + fileName + "\n" + e);
+        	e.printStackTrace();
+        }
+	}
+
+    // replaceFile
+    //-----------------------------------------------------------------------
+	/**
+	 * Replace a file with a newly written one. Where a file can't be 
+	 * renamed over another (e.g. Windows) the old file is moved aside 
+	 * first, and put back if the new one still can't take its place.
+	 * 
+	 * @param tempFile - the new file, deleted if it can't be renamed.
+	 * @param file - the file to replace.
+	 * @throws IOException if the new file can't take its place.
+	 */
+	static void replaceFile(File tempFile, File file) throws IOException {
+		if (!tempFile.renameTo(file)) {
+			File backupFile = new File(file.getPath() + ".bak");
+			backupFile.delete();
+			if (file.exists() && !file.renameTo(backupFile)) {
+				tempFile.delete();
+				throw new IOException("Can't rename " + file + " to " + backupFile);
+			}
+			if (!tempFile.renameTo(file)) {
+				tempFile.delete();
+				if (backupFile.exists() && !backupFile.renameTo(file)) {
+					throw new IOException("Can't rename " + tempFile + " to " + file
+							+ "; the original is in " + backupFile);
+				}
+				throw new IOException("Can't rename " + tempFile + " to " + file);
+			}
+			backupFile.delete();
+		}
+	}
+
+	/**
+	 * Is the given file in the indexed format ?
+	 * 
+	 * @param fileName - the file to check.
+	 * @return true if the file can be opened with JQSIndexedFile.
+	 */
+	public static boolean isIndexedFile(final String fileName) {
+		boolean retVal = false;
+		InputStream ins = null;
+		try {
+			ins = new BufferedInputStream(new FileInputStream(fileName));
+			retVal = JQSIndexedFile.isIndexedFile(ins);
+		} catch (IOException ioe) {
+			retVal = false;
+		} finally {
+			try {
+				if (ins != null) {
+					ins.close();
+				}
+			} catch (IOException ioe) {
+				// don't care
+			}
+		}
+		return retVal;
+	}
+
+	/**
+	 * Write bytes as two lower case hex digits each.
+	 */
+	private static void writeHex(Writer os, byte[] bytes) throws IOException {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0, c = 0; i < bytes.length; i++) {
+			hex[c++] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			hex[c++] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		os.write(hex);
+	}
+
+	/**
+	 * Read bytes written by writeHex, starting at the given position.
+	 */
+	private static byte[] parseHex(String str, int start) throws IOException {
+		byte[] bytes = new byte[(str.length() - start) / 2];
+		for (int i = 0, c = start; i < bytes.length; i++) {
+			int hi = Character.digit(str.charAt(c++), 16);
+			int lo = Character.digit(str.charAt(c++), 16);
+			if (hi < 0 || lo < 0) {
+				throw new IOException("Bad image data");
+			}
+			bytes[i] = (byte) ((hi << 4) | lo);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Convert the comma-separated pixels of a 0.9 file into an array of
+	 * ints. The String is scanned in place, rather than being split, as 
+	 * an image may have hundreds of thousands of pixels.
+	 */
+	private static int[] parsePixels(String str, int imageSize) {
+		int[] pixelArray = new int[imageSize];
+		int len = str.length();
+		int c = 0;
+		for (int z = 0; z < imageSize; z++) {
+			boolean negative = false;
+			if (c < len && str.charAt(c) == '-') {
+				negative = true;
+				c++;
+			}
+			int start = c;
+			int value = 0;
+			while (c < len && str.charAt(c) != ',') {
+				int digit = str.charAt(c) - '0';
+				if (digit < 0 || digit > 9) {
+					throw new NumberFormatException("Bad pixel: " + str.substring(start, c + 1));
+				}
+				value = value * 10 - digit;    // Accumulate negatively, so MIN_VALUE fits.
+				c++;
+			}
+			if (c == start) {
+				throw new NumberFormatException("Missing pixel " + z);
+			}
+			pixelArray[z] = negative ? value : -value;
+			c++;    // Skip the comma.
+		}
+		return pixelArray;
+	}
+
+	/**
+	 * Open an indexed file as a LazyQuestionPool. Only the 
+	 * configuration settings and the offset table are read; each question
+	 * is read when it is first used. The file stays open until the pool's
+	 * removeAllQuestions() is called.
+	 * 
+	 * @param fileName - the file to open.
+	 * @return the new pool, or null if the file couldn't be opened.
+	 * @throws JQSIndexedFile.NewerVersionException if the file was written 
+	 *                   by a newer version, for the caller to tell the user.
+	 */
+	public static QuestionPool openIndexedFile(final String fileName) 
+			throws JQSIndexedFile.NewerVersionException {
+		QuestionPool qPool = null;
+		try {
+			JQSIndexedFile indexedFile = new JQSIndexedFile(fileName);
+			qPool = new LazyQuestionPool(indexedFile);
+			indexedFile.readConfiguration(qPool);
+		} catch (JQSIndexedFile.NewerVersionException nve) {
+			throw nve;
+		} catch (IOException ioe) {
+			System.out.println("ERROR Reading File(" + fileName + "): " + ioe);
+			ioe.printStackTrace();
+		}
+		return qPool;
+	}
+
+
+	/**
+	 *   
+     * Read from the given file to the current pool of questions and also 
+     * configuration details 
+     *
+	 * @param fileName - the file to read.
+	 * @param qPool - the current question pool.
+	 * @param classRef - The Class object is needed if we need to read
+	 *                   from a Resource File (for instance, when JQuestions
+	 *                   is running as an Applet in Demo-Mode).  
+	 * @throws JQSIndexedFile.NewerVersionException if the file was written 
+	 *                   by a newer version, for the caller to tell the user.
+	 *                   Any other error is only logged.
+	 */
+	public static void readFile(final String fileName, final QuestionPool qPool, Class<?> classRef) 
+			throws JQSIndexedFile.NewerVersionException {
+		readFile(fileName, qPool, classRef, null);
+	}
+
+	/**
+	 *
+     * Read from the given file to the current pool of questions and also
+     * configuration details, reporting each Question to the listener as
+     * soon as it has been read.
+     *
+     * The decompressed file is tokenized as it is read, so it is never
+     * held in memory as a whole.
+	 *
+	 * @param fileName - the file to read.
+	 * @param qPool - the current question pool.
+	 * @param classRef - The Class object is needed if we need to read
+	 *                   from a Resource File.
+	 * @param listener - notified as the file is read (may be null).
+	 * @throws JQSIndexedFile.NewerVersionException as for the other readFile.
+	 */
+	public static void readFile(final String fileName, final QuestionPool qPool,
+			Class<?> classRef, QuestionReadListener listener) 
+			throws JQSIndexedFile.NewerVersionException {
+		readFile(fileName, qPool, classRef, listener, 1);
+	}
+
+	/**
+	 *
+     * Read from the given file to the current pool of questions and also
+     * configuration details, decoding the questions on several threads.
+     *
+     * Questions are still added to the pool, and reported to the 
+     * listener, in file order and on the calling thread.
+	 *
+	 * @param fileName - the file to read.
+	 * @param qPool - the current question pool.
+	 * @param classRef - The Class object is needed if we need to read
+	 *                   from a Resource File.
+	 * @param listener - notified as the file is read (may be null).
+	 * @param decodeThreads - the number of threads used to construct
+	 *                   questions; 1 decodes on the calling thread.
+	 * @throws JQSIndexedFile.NewerVersionException as for the other readFile;
+	 *                   the listener is not told the file was read.
+	 */
+	public static void readFile(final String fileName, final QuestionPool qPool,
+			Class<?> classRef, QuestionReadListener listener, int decodeThreads) 
+			throws JQSIndexedFile.NewerVersionException {
+
+		InputStream ins = null;
+
+		try {
+
+			// Read a resource file. 
+			if (classRef != null) {
+				ins = classRef.getResourceAsStream(fileName); 
+			}
+			else { // Read ordinary file object as a stream.
+				ins = new FileInputStream(fileName);				
+			}
+			ins = new BufferedInputStream(ins);
+			readStream(ins, qPool, listener, decodeThreads);
+
+			// Apply any changes saved to the file's journal since.
+			if (classRef == null) {
+				JQSJournal.replay(fileName, qPool);
+			}
+
+		} catch (JQSIndexedFile.NewerVersionException nve) {
+			throw nve;
+		} catch (IOException ioe) {
+			System.out.println("ERROR Reading File(" + fileName + "): " + ioe);
+			ioe.printStackTrace();
+		} catch (Exception e) {
+			System.out.println("Exception Reading File " + fileName + "\n" + e);
+			e.printStackTrace();
+		} finally {
+			// Close input stream.
+			try {
+				if (ins != null) {
+					ins.close();
+				}
+			} catch (IOException ioe) {
+				// don't care
+			}
+		}
+
+		if (listener != null) {
+			listener.readFinished(qPool);
+		}
+
+		// DEBUG code 
+		//System.out.println("Read File " + fileName + "\n");
+		//System.out.println("qp.size() = " + qPool.getSize());
+		//qPool.printAllQuestions();
+		//
+	}
+
+	/**
+	 * Read a .jqs file, in either format, from a stream. Unlike readFile
+	 * any error is passed on to the caller.
+	 * 
+	 * @param ins - the stream to read, which must support mark/reset.
+	 * @param qPool - the current question pool.
+	 * @param listener - notified as the file is read (may be null).
+	 * @param decodeThreads - the number of threads used to construct
+	 *                   questions.
+	 * @throws IOException if the file can't be read, or was written by
+	 *                   a newer version (a JQSIndexedFile.NewerVersionException).
+	 */
+	static void readStream(InputStream ins, final QuestionPool qPool,
+			QuestionReadListener listener, int decodeThreads) throws IOException {
+
+		// Indexed file ?
+		if (JQSIndexedFile.isIndexedFile(ins)) {
+			JQSIndexedFile.readStream(ins, qPool, listener, decodeThreads);
+		}
+		else {
+			GZIPInputStream gzis = new GZIPInputStream(ins);  // Compressed file format.
+
+			InputStreamReader isw = new InputStreamReader(gzis); // 
+			BufferedReader is = new BufferedReader(isw);// Buffered
+
+	        // Process tokens as they are read.
+			JQSTokenizer st = new JQSTokenizer(is, UNIT_SEPARATOR);
+            processTokens(st, qPool, listener, decodeThreads);
+		}
+	}
+
+	/**
+	 * Tokenises the input String, constructs objects, reads values,
+	 * stores information throws errors where necessary.
+	 * 
+	 * @param line
+	 * @param qPool
+	 */
+	
+	// Processes one String, constructs Question objects. 
+	public static void processInput(final String line, final QuestionPool qPool) 
+			throws JQSIndexedFile.NewerVersionException {
+		try {
+			processTokens(new JQSTokenizer(new StringReader(line),
+					UNIT_SEPARATOR), qPool, null, 1);
+		} catch (JQSIndexedFile.NewerVersionException nve) {
+			throw nve;
+		} catch (IOException ioe) {
+			// Can't happen when reading from a String.
+			ioe.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads tokens from the tokenizer, constructs Question objects and
+	 * adds each one to the pool as soon as all its fields have been read.
+	 *
+	 * The tokens of each question are collected first, then handed to
+	 * an OrderedQuestionDecoder to be turned into a Question.
+	 *
+	 * @param st - source of tokens.
+	 * @param qPool - the pool to add the questions to.
+	 * @param listener - notified of each new question (may be null).
+	 * @param decodeThreads - the number of threads constructing questions.
+	 * @throws IOException if reading from the tokenizer fails, or the file
+	 *                     was written by a newer version.
+	 */
+	private static void processTokens(final JQSTokenizer st,
+			final QuestionPool qPool, QuestionReadListener listener,
+			int decodeThreads)
+	        throws IOException {
+
+		String fileFormatVersion = null;
+		
+		// Read file format version number. 
+		fileFormatVersion = st.nextToken();
+
+		// Perform any checks on file format version number.
+		if (JQSIndexedFile.compareVersions(fileFormatVersion, FILE_FORMAT_VERSION) > 0) {
+			throw new JQSIndexedFile.NewerVersionException(fileFormatVersion);
+		}
+	
+		
+    	// Read recommended Configuration settings
+		String descriptionText;
+    	String descText = st.nextToken();
+    	if (descText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+    		descriptionText = "";
+    	}
+    	descriptionText = descText;
+    	qPool.setDescriptionText(descriptionText);
+
+   	
+    	Boolean isChangeAllowed;
+    	String isChangeText = st.nextToken();
+    	if (isChangeText.compareToIgnoreCase("T") == 0) {
+            isChangeAllowed = new Boolean(true);    		
+    	}
+    	else {
+    	    isChangeAllowed = new Boolean(false);
+    	}
+    	qPool.setIsChangeAllowed(isChangeAllowed);
+    	
+    	
+    	Boolean isExam;
+    	String isExamText = st.nextToken();
+    	if (isExamText.compareToIgnoreCase("T") == 0) {
+            isExam = new Boolean(true);    		
+    	}
+    	else {
+    	    isExam = new Boolean(false);
+    	}
+    	qPool.setIsExam(isExam);
+
+
+    	Boolean timed;
+    	String timedText = st.nextToken();
+    	if (timedText.compareToIgnoreCase("T") == 0) {
+            timed = new Boolean(true);    		
+    	}
+    	else {
+    	    timed = new Boolean(false);
+    	}
+    	qPool.setTimed(timed);
+    	
+    	
+    	String timeLimitText =  st.nextToken();
+        Integer timeLimit = Integer.parseInt(timeLimitText);
+    	qPool.setTimeLimit(timeLimit);
+
+    	Boolean displayFinalScore;
+    	String finalScoreText =  st.nextToken();
+    	if (finalScoreText.compareToIgnoreCase("T") == 0) {
+            displayFinalScore = new Boolean(true);    		
+    	}
+    	else {
+    	    displayFinalScore = new Boolean(false);
+    	}
+    	qPool.setDisplayFinalScore(displayFinalScore);
+    	
+    	Boolean displayPrintOption;
+    	String printOptionText =  st.nextToken();
+    	if (printOptionText.compareToIgnoreCase("T") == 0) {
+            displayPrintOption = new Boolean(true);    		
+    	}
+    	else {
+    	    displayPrintOption = new Boolean(false);
+    	}
+    	qPool.setDisplayPrintOption(displayPrintOption);
+
+    	
+    	String studentNameText =  st.nextToken();    	
+    	if (studentNameText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+    		studentNameText = "";
+    	}
+    	qPool.setStudentName(studentNameText);
+    	
+    	String nQuestionsText =  st.nextToken();
+        Integer numberOfQuestions = Integer.parseInt(nQuestionsText);
+        qPool.setNumberOfQuestions(numberOfQuestions);
+   
+        // Scoring rule and threshold, and sampling spec (0.92); older files 
+        // keep the defaults.
+        final boolean hasTables = 
+        	JQSIndexedFile.compareVersions(fileFormatVersion, IMAGE_TABLE_VERSION) >= 0;
+        if (hasTables) {
+        	qPool.setScoringRule(ScoringRule.valueOf(st.nextToken()));
+        	qPool.setScoringThreshold(Integer.parseInt(st.nextToken()));
+        	String samplingText = st.nextToken();
+        	if (samplingText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+        		samplingText = "";
+        	}
+        	qPool.setSampling(samplingText);
+        }
+   
+    	if (listener != null) {
+    		listener.configurationRead(qPool);
+    	}
+              
+    	// Read the image table (0.92). Every question that refers to an 
+    	// image shares the same PNG data.
+    	final ImageStore imageStore = new ImageStore();
+    	final List<byte[]> imageTable = new ArrayList<byte[]>();
+    	if (hasTables) {
+    		int imageCount = Integer.parseInt(st.nextToken());
+    		for (int i = 0; i < imageCount; i++) {
+    			String pngStr = st.nextToken();
+    			if (!pngStr.startsWith(PNG_IMAGE)) {
+    				throw new IOException("Bad image table entry " + i);
+    			}
+    			imageTable.add(parseHex(pngStr, PNG_IMAGE.length()));
+    		}
+    	}
+              
+		// Read fields for each new Question object.
+		// Just ignore the "tokens" that consist of DELIM.
+		OrderedQuestionDecoder decoder = 
+			new OrderedQuestionDecoder(qPool, listener, decodeThreads);
+		try {
+			while (st.hasMoreTokens()) {
+				final List<String> fields = readQuestionTokens(st, hasTables);
+				decoder.submit(new Callable<Question>() {
+					public Question call() throws Exception {
+						return decodeQuestion(fields.iterator(), imageStore, imageTable, hasTables);
+					}
+				});
+			}
+			decoder.finish();
+		} finally {
+			decoder.shutdown();
+		}
+	}
+
+	/**
+	 * Read all the tokens of one question, without decoding them. Only
+	 * the counts needed to find the end of the question are parsed.
+	 *
+	 * @param st - source of tokens.
+	 * @param hasTags - does the question end with its difficulty and tags (0.92) ?
+	 * @return the question's tokens, in file order.
+	 */
+	private static List<String> readQuestionTokens(final JQSTokenizer st,
+			boolean hasTags) throws IOException {
+		List<String> fields = new ArrayList<String>();
+		
+		addTokens(st, fields, 4);     // Question, hint, explain text, type.
+		int numPAnswers = addCount(st, fields);
+		addTokens(st, fields, numPAnswers * 2);
+		int numCAnswers = addCount(st, fields);
+		addTokens(st, fields, numCAnswers);
+		addTokens(st, fields, 1);     // Doc text.
+		int imageCount = addCount(st, fields);
+		addTokens(st, fields, imageCount * 4);
+		int jtfCount = addCount(st, fields);
+		addTokens(st, fields, jtfCount * 2);
+		if (hasTags) {
+			addTokens(st, fields, 1);     // Difficulty.
+			int tagCount = addCount(st, fields);
+			addTokens(st, fields, tagCount);
+		}
+		
+		return fields;
+	}
+
+	private static void addTokens(final JQSTokenizer st, List<String> fields,
+			int count) throws IOException {
+		for (int i = 0; i < count; i++) {
+			fields.add(st.nextToken());
+		}
+	}
+
+	private static int addCount(final JQSTokenizer st, List<String> fields)
+			throws IOException {
+		String countStr = st.nextToken();
+		fields.add(countStr);
+		return Integer.parseInt(countStr);
+	}
+
+	/**
+	 * Construct one Question object from its tokens. Safe to call on any
+	 * thread - see OrderedQuestionDecoder. No Swing objects are created;
+	 * the question text is read as a QuestionContent.
+	 *
+	 * @param fields - the question's tokens, as read by readQuestionTokens.
+	 * @param imageStore - shares the images stored in the question itself
+	 *                     (0.91) between questions.
+	 * @param imageTable - the file's image table (0.92).
+	 * @param hasTags - does the question end with its difficulty and tags (0.92) ?
+	 * @return the new Question.
+	 * @throws IOException if the image data can't be decoded.
+	 */
+	private static Question decodeQuestion(Iterator<String> fields,
+			ImageStore imageStore, List<byte[]> imageTable, boolean hasTags)
+			throws IOException {
+        	String qText =  fields.next();
+        	if (qText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+        		qText = "";
+        	}
+        	
+        	String hintText = fields.next();
+        	if (hintText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+        		hintText = "";
+        	}
+        	
+        	String eText = fields.next();
+        	if (eText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+        		eText = "";
+        	}
+        	
+        	String qType = fields.next();
+
+        	QuestionType questionType = null;
+        	if (qType.compareToIgnoreCase("1") == 0) {
+        		questionType = QuestionType.MULTI_CHOICE;
+        	}
+        	else 
+           	if (qType.compareToIgnoreCase("2") == 0) {
+           		questionType = QuestionType.DRAG_N_DROP;
+           	}
+        	  	
+        	List<PossibleAnswer> pAnswers = new ArrayList<PossibleAnswer>();
+        	String strPAnswers = fields.next();
+        	int numPAnswers = Integer.parseInt(strPAnswers);
+
+
+          	String pString = null;
+          	String eString = null;
+            for (int j=0; j < numPAnswers; j++) {
+            	pString = fields.next();
+            	if (pString.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+            		pString = "";
+            	}
+
+            	eString = fields.next();
+            	if (eString.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+            		eString = "";
+            	}
+            	            	
+            	pAnswers.add(new PossibleAnswer(pString, false, j, new StringBuilder(eString)));
+            }
+
+        	List<Integer> cAnswers = new ArrayList<Integer>();
+        	String strCAnswers = fields.next();
+        	int numCAnswers = Integer.parseInt(strCAnswers);
+
+          	String cString = null;
+            for (int j=0; j < numCAnswers; j++) {
+            	cString = fields.next();
+            	int cInt = Integer.parseInt(cString);
+            	cAnswers.add(cInt);
+            }
+            
+            // Read DefaultStyledDocument properties.
+            String null1 = null;
+
+            // Read the doc text.
+            String docText = fields.next();
+        	if (docText.compareToIgnoreCase(EMPTY_FIELD) == 0) {
+        		docText = "";
+        	}
+
+        	
+            // Read the number of Images we found (maybe zero...)
+        	String imageCountStr = fields.next();
+        	int imageCount = Integer.parseInt(imageCountStr);
+        	List<QuestionContent.ImageRef> images = 
+        		new ArrayList<QuestionContent.ImageRef>(imageCount);
+            
+        	
+            // Read details of ImageIcons (if any).
+        	for (int i=0; i<imageCount; i++) {
+                String tempStr = fields.next();
+                int w = Integer.parseInt(tempStr);
+                
+                tempStr = fields.next();
+                int h = Integer.parseInt(tempStr);
+
+                tempStr = fields.next();
+                int pos = Integer.parseInt(tempStr);
+                
+                // Image table reference (0.92), PNG data (0.91), or int 
+                // array of image pixels (0.9), read as a String.
+                tempStr = fields.next();
+                                
+                byte[] png;
+                if (tempStr.startsWith(IMAGE_REF)) {
+                	int id = Integer.parseInt(tempStr.substring(IMAGE_REF.length()));
+                	if (id < 0 || id >= imageTable.size()) {
+                		throw new IOException("Bad image reference " + id);
+                	}
+                	png = imageTable.get(id);
+                }
+                else
+                if (tempStr.startsWith(PNG_IMAGE)) {
+                	// Share the data with any other copy of the image.
+                	png = parseHex(tempStr, PNG_IMAGE.length());
+                	png = imageStore.getPNG(imageStore.add(png));
+                }
+                else {
+                    // Convert input String into array of ints.
+                	int[] pixelArray = parsePixels(tempStr, h * w);
+                	png = ImageUtils.getPNGFromArray(pixelArray, w, h);
+                }
+            	
+            	images.add(new QuestionContent.ImageRef(pos, w, h, png));
+            }                
+            
+
+            // Read the number of JTextFields we found (maybe zero...)
+        	String jtfCountStr = fields.next();
+        	int jtfCount = Integer.parseInt(jtfCountStr);
+        	List<QuestionContent.Blank> blanks = 
+        		new ArrayList<QuestionContent.Blank>(jtfCount);
+
+
+            // Read properties of JTextFields (if any).
+        	for (int i=0; i<jtfCount; i++) {
+                String tempStr = fields.next();
+                int pos = Integer.parseInt(tempStr);
+
+                tempStr = fields.next();
+                String textField = tempStr;
+            	
+            	blanks.add(new QuestionContent.Blank(pos, textField));
+        	}        	
+        	
+        	// Read the difficulty and tags (if any).
+        	int difficulty = 0;
+        	List<String> tags = new ArrayList<String>();
+        	if (hasTags) {
+        		difficulty = Integer.parseInt(fields.next());
+        		int tagCount = Integer.parseInt(fields.next());
+        		for (int i=0; i<tagCount; i++) {
+        			tags.add(fields.next());
+        		}
+        	}
+        	
+        	// Instantiate new Question object.
+            QuestionContent qContent = new QuestionContent(docText, images, blanks);
+            Question question = new Question(null1, qText, pAnswers, cAnswers, questionType, qContent, hintText, eText, false);
+            question.setTags(tags);
+            question.setDifficulty(difficulty);
+            
+            //question.analyzeDoc();
+                        
+            return question;
+	}
+
+	// createNewJTextField 
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Given a text string this method constructs a 'standard', JQuestions
+	 * JTextField object, used as a drop-target in a DRAG_N_DROP type Question.
+	 *  
+	 * This method may become more complex as features are added.
+	 *
+	 * A Builder Design Pattern method is used. This method has been declared  
+	 * as <code>static</code> so it can be called without instantiating
+	 * an IOUtils object.
+	 *
+	 * @param str  The initial string of text (if any) the JTextField is to 
+	 *             contain. 
+	 * @return a JTextField containing the text, formatted and constructed in
+	 *         the standard way for JQuestions. 
+	*/     
+	  
+	public static JTextField createNewJTextField(String str) {
+	      JTextField jtf = new JTextField(str);  // Set initial text (if any).
+	      jtf.setHorizontalAlignment(SwingConstants.CENTER);
+	      jtf.setBackground(Color.cyan);
+	      jtf.setOpaque(true);
+	      jtf.setEditable(false);
+	      jtf.setBorder(LineBorder.createBlackLineBorder());
+	      jtf.setColumns(10);
+	      int w = 80;
+	      int h = 15;
+	      Dimension dim = new Dimension(w, h);
+	      jtf.setMaximumSize(dim);
+	  
+	      return jtf;	  
+	}
+	  
+	// Useful debug method.  
+	public static void printResults(String input, Object[] outputs) {
+		System.out.println("Input: " + input);
+		for (int i = 0; i < outputs.length; i++)
+			System.out.println("Output " + i + " was: " + outputs[i]);
+	}	
+}
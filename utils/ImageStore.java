@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+// ImageStore
+//-----------------------------------------------------------------------
+/**
+ * <p>A content-addressed collection of images. Each distinct image is
+ * held once, as PNG data identified by its SHA-1 hash, no matter how many
+ * questions it appears in.</p>
+ * <ul>
+ * <li>When writing, {@link #add(byte[])} gives each distinct image a
+ *     small id, so a file can hold one table of images and have the
+ *     questions refer to them by id.
+ * <li>When reading, {@link #getPNG(int)} of that id returns the same
+ *     array for every copy of an image, so the copies share one array -
+ *     and, once displayed, one decoded ImageIcon (see DocumentUtils).
+ * </ul>
+ *
+ * <p>No Swing or AWT classes are used. All methods may be called from
+ * several threads at once.</p>
+ *
+ * @see IOUtils
+ * @see JQSIndexedFile
+ */
+
+public class ImageStore {
+
+	// PNG data of each image, by id.
+	private final List<byte[]> pngs = new ArrayList<byte[]>();
+
+	// Content hash -> id.
+	private final Map<Digest, Integer> ids = new HashMap<Digest, Integer>();
+
+
+	/**
+	 * Create an empty store.
+	 */
+	public ImageStore() {
+		super();
+	}
+
+	// add
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Add an image, unless one with the same PNG data is already held.</p>
+	 *
+	 * @param png  the PNG data of the image.
+	 * @return the id of the image, counting from 0 in the order that
+	 *         distinct images were added.
+	 */
+	public int add(byte[] png) {
+		Digest digest = new Digest(png);
+		synchronized (this) {
+			Integer id = ids.get(digest);
+			if (id == null) {
+				id = pngs.size();
+				pngs.add(png);
+				ids.put(digest, id);
+			}
+			return id;
+		}
+	}
+
+	/**
+	 * @return the number of distinct images held.
+	 */
+	public synchronized int getImageCount() {
+		return pngs.size();
+	}
+
+	/**
+	 * @param id  an id returned by add().
+	 * @return the PNG data of the image, as first added.
+	 */
+	public synchronized byte[] getPNG(int id) {
+		return pngs.get(id);
+	}
+
+
+	/**
+	 * SHA-1 hash of an image's PNG data, usable as a map key.
+	 */
+	private static final class Digest {
+		private final byte[] hash;
+		private final int hashCode;
+
+		Digest(byte[] data) {
+			try {
+				hash = MessageDigest.getInstance("SHA-1").digest(data);
+			} catch (NoSuchAlgorithmException nsae) {
+				// Every Java platform is required to support SHA-1.
+				throw new IllegalStateException(nsae);
+			}
+			hashCode = Arrays.hashCode(hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof Digest)
+					&& Arrays.equals(hash, ((Digest) obj).hash);
+		}
+	}
+}
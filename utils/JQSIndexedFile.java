@@ -0,0 +1,861 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import question.PossibleAnswer;
+import question.Question;
+import question.QuestionContent;
+import question.QuestionPool;
+import question.QuestionSource;
+import question.QuestionType;
+import question.ScoringRule;
+
+
+// JQSIndexedFile
+//-----------------------------------------------------------------------
+/**
+ * <p>Reads and writes the indexed, binary .jqs file format.</p>
+ *
+ * <p>The 0.9 format is one gzipped stream of delimited text, so finding
+ * question N means decompressing and tokenizing everything before it.
+ * The indexed format is laid out so that any single question can be read on
+ * its own:</p>
+ * <pre>
+ *   MAGIC  "JQSI"
+ *   header       version (UTF), then the QuestionPool configuration,
+ *                ending with the scoring rule and threshold      (1.1)
+ *                and the sampling spec                           (1.1)
+ *   image table  int count, then count x (int length, PNG data)  (1.1)
+ *   record 0     int length, then length bytes of deflated question data
+ *   record 1     ...
+ *   -1           end of records
+ *   offset table int count, then count x (long offset, int length,
+ *                int difficulty, tags)                            (1.1)
+ *   trailer      long offset of the table, MAGIC
+ * </pre>
+ * <p>All strings are length-prefixed UTF-8, so there is no need for
+ * delimiters or empty-field markers. Each distinct image is stored once,
+ * in the image table, and questions refer to it by id.</p>
+ *
+ * <p>Each question's difficulty and tags are at the end of its record, and
+ * again in the offset table - so a pool opened for random access can be
+ * searched by tag without reading the records (see getTags()).</p>
+ *
+ * <p>An instance opens a file for random access - see
+ * {@link #readQuestion(int)}, and can back a LazyQuestionPool. The static
+ * methods write a pool, or read a whole file sequentially from a stream
+ * (e.g. a resource file).</p>
+ *
+ * @see IOUtils
+ */
+
+public class JQSIndexedFile implements QuestionSource {
+
+	// Version of the indexed format.
+	// 1.1 - adds the scoring rule, threshold and sampling spec (see 
+	//       QuestionSampler.setSpec()) to the configuration, the image 
+	//       table (see IMAGE_REF), and each question's difficulty and tags, 
+	//       to its record (see FIELD_TAGS) and to the offset table. 1.0 
+	//       files are still read, and score all or nothing and draw every 
+	//       question with equal chance.
+	static final String FILE_FORMAT_VERSION = "1.1";
+	private static final String IMAGE_TABLE_VERSION = "1.1";
+
+	// First (and last) four bytes of every indexed file.
+	static final byte[] MAGIC = {'J', 'Q', 'S', 'I'};
+
+	// Marks the end of the question records.
+	private static final int END_OF_RECORDS = -1;
+
+	// Image encodings.
+	static final byte IMAGE_PNG = 1;    // int length, then PNG data.
+	static final byte IMAGE_REF = 2;    // int id in the image table.
+
+	// Marks the optional fields at the end of a question record. A record
+	// that ends before them is of a question with no tags and difficulty 0.
+	static final byte FIELD_TAGS = 1;   // int difficulty, then tags.
+
+	private static final String CHARSET = "UTF-8";
+
+	// Open file and its offset table.
+	private final RandomAccessFile raf;
+	private final long[] offsets;
+	private final int[] lengths;
+
+	// Difficulty and tags of each question, from the offset table (1.1),
+	// or as each question is read (1.0).
+	private final int[] difficulties;
+	private final List<Set<String>> tagTable;
+	private boolean hasTagTable;
+
+	private String fileFormatVersion;
+
+	// The image table, and the images stored in the questions themselves
+	// (1.0), so that every copy of an image shares the same PNG data.
+	private byte[][] imagePNGs = new byte[0][];
+	private final ImageStore imageStore = new ImageStore();
+
+	// Configuration settings, read from the header.
+	private String descriptionText;
+	private boolean isChangeAllowed;
+	private boolean isExam;
+	private boolean timed;
+	private int timeLimit;
+	private boolean displayFinalScore;
+	private boolean displayPrintOption;
+	private String studentName;
+	private int numberOfQuestions;
+	private ScoringRule scoringRule = ScoringRule.ALL_OR_NOTHING;
+	private int scoringThreshold = 100;
+	private String sampling = "";
+
+
+	/**
+	 * Open an indexed file for random access. Only the header and the
+	 * offset table are read.
+	 *
+	 * @param fileName - the file to open.
+	 * @throws IOException if the file can't be read, is not an indexed
+	 *                     file, or was written by a newer version.
+	 */
+	public JQSIndexedFile(final String fileName) throws IOException {
+		raf = new RandomAccessFile(fileName, "r");
+		try {
+			readHeader(raf);
+
+			// Find the offset table using the trailer.
+			long trailerPos = raf.length() - 8 - MAGIC.length;
+			raf.seek(trailerPos);
+			long tableOffset = raf.readLong();
+			checkMagic(raf);
+
+			raf.seek(tableOffset);
+			int count = raf.readInt();
+			offsets = new long[count];
+			lengths = new int[count];
+			difficulties = new int[count];
+			tagTable = new ArrayList<Set<String>>(Collections.<Set<String>>nCopies(count, null));
+			hasTagTable = compareVersions(fileFormatVersion, IMAGE_TABLE_VERSION) >= 0;
+			for (int i = 0; i < count; i++) {
+				offsets[i] = raf.readLong();
+				lengths[i] = raf.readInt();
+				if (hasTagTable) {
+					difficulties[i] = raf.readInt();
+					tagTable.set(i, readTags(raf));
+				}
+			}
+		} catch (IOException ioe) {
+			raf.close();
+			throw ioe;
+		}
+	}
+
+	/**
+	 * @return the number of questions in the file.
+	 */
+	public int getQuestionCount() {
+		return offsets.length;
+	}
+
+	/**
+	 * Read and construct one question. Only that question's record
+	 * is read from disk.
+	 *
+	 * @param index - position of the question in the file.
+	 * @return the new Question object.
+	 * @throws IOException if the record can't be read.
+	 */
+	public synchronized Question readQuestion(int index) throws IOException {
+		byte[] record = new byte[lengths[index]];
+		raf.seek(offsets[index]);
+		raf.readFully(record);
+		Question q = decodeQuestion(record, this);
+		if (!hasTagTable) {
+			difficulties[index] = q.getDifficulty();
+			tagTable.set(index, Collections.unmodifiableSet(
+					new LinkedHashSet<String>(q.getTags())));
+		}
+		return q;
+	}
+
+	/**
+	 * Get the tags of one question. Unless the file is older than 1.1
+	 * they are taken from the offset table, without reading the record.
+	 *
+	 * @param index - position of the question in the file.
+	 * @return the question's tags.
+	 * @throws IOException if the record can't be read.
+	 */
+	public synchronized Set<String> getTags(int index) throws IOException {
+		if (tagTable.get(index) == null) {
+			readQuestion(index);
+		}
+		return tagTable.get(index);
+	}
+
+	/**
+	 * Get the difficulty of one question, as for getTags().
+	 *
+	 * @param index - position of the question in the file.
+	 * @return the question's difficulty, or 0 if not rated.
+	 * @throws IOException if the record can't be read.
+	 */
+	public synchronized int getDifficulty(int index) throws IOException {
+		if (tagTable.get(index) == null) {
+			readQuestion(index);
+		}
+		return difficulties[index];
+	}
+
+	/**
+	 * Store the configuration settings read from the header in the pool.
+	 *
+	 * @param qPool - the pool to update.
+	 */
+	public void readConfiguration(final QuestionPool qPool) {
+		qPool.setDescriptionText(descriptionText);
+		qPool.setIsChangeAllowed(isChangeAllowed);
+		qPool.setIsExam(isExam);
+		qPool.setTimed(timed);
+		qPool.setTimeLimit(timeLimit);
+		qPool.setDisplayFinalScore(displayFinalScore);
+		qPool.setDisplayPrintOption(displayPrintOption);
+		qPool.setStudentName(studentName);
+		qPool.setNumberOfQuestions(numberOfQuestions);
+		qPool.setScoringRule(scoringRule);
+		qPool.setScoringThreshold(scoringThreshold);
+		qPool.setSampling(sampling);
+	}
+
+	/**
+	 * Close the file.
+	 */
+	public synchronized void close() throws IOException {
+		raf.close();
+	}
+
+	/**
+	 * Read the magic number, version and configuration settings.
+	 */
+	private void readHeader(DataInput in) throws IOException {
+		checkMagic(in);
+
+		fileFormatVersion = in.readUTF();
+		if (compareVersions(fileFormatVersion, FILE_FORMAT_VERSION) > 0) {
+			throw new NewerVersionException(fileFormatVersion);
+		}
+
+		descriptionText = readString(in);
+		isChangeAllowed = in.readBoolean();
+		isExam = in.readBoolean();
+		timed = in.readBoolean();
+		timeLimit = in.readInt();
+		displayFinalScore = in.readBoolean();
+		displayPrintOption = in.readBoolean();
+		studentName = readString(in);
+		numberOfQuestions = in.readInt();
+		if (compareVersions(fileFormatVersion, IMAGE_TABLE_VERSION) >= 0) {
+			scoringRule = ScoringRule.valueOf(in.readUTF());
+			scoringThreshold = in.readInt();
+			sampling = readString(in);
+
+			// The image table is kept as PNG data; each image is only
+			// decoded when a question that uses it is displayed.
+			int imageCount = in.readInt();
+			imagePNGs = new byte[imageCount][];
+			for (int i = 0; i < imageCount; i++) {
+				imagePNGs[i] = new byte[in.readInt()];
+				in.readFully(imagePNGs[i]);
+			}
+		}
+	}
+
+	/**
+	 * Private constructor used when reading sequentially from a stream.
+	 */
+	private JQSIndexedFile() {
+		raf = null;
+		offsets = null;
+		lengths = null;
+		difficulties = null;
+		tagTable = null;
+	}
+
+
+	// isIndexedFile
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Check whether a stream holds an indexed file, without consuming
+	 * any of it.</p>
+	 *
+	 * @param in  a stream that supports mark/reset.
+	 * @return true if the stream starts with the indexed file MAGIC.
+	 */
+	public static boolean isIndexedFile(InputStream in) throws IOException {
+		byte[] header = new byte[MAGIC.length];
+		in.mark(MAGIC.length);
+		int numRead = 0;
+		int n;
+		while (numRead < header.length
+				&& (n = in.read(header, numRead, header.length - numRead)) > 0) {
+			numRead += n;
+		}
+		in.reset();
+
+		if (numRead < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (header[i] != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// readStream
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Read a whole indexed file from a stream, in order, ignoring the
+	 * offset table. Used where random access isn't possible, e.g. for
+	 * resource files.</p>
+	 *
+	 * @param in  the stream to read.
+	 * @param qPool  the pool to read the questions into.
+	 * @param listener  notified as the file is read (may be null).
+	 * @param decodeThreads  the number of threads used to construct
+	 *                       questions; they are still added in order.
+	 */
+	public static void readStream(InputStream in, final QuestionPool qPool,
+			QuestionReadListener listener, int decodeThreads) throws IOException {
+		DataInputStream dis = new DataInputStream(in);
+
+		final JQSIndexedFile header = new JQSIndexedFile();
+		header.readHeader(dis);
+		header.readConfiguration(qPool);
+		if (listener != null) {
+			listener.configurationRead(qPool);
+		}
+
+		OrderedQuestionDecoder decoder =
+				new OrderedQuestionDecoder(qPool, listener, decodeThreads);
+		try {
+			int length;
+			while ((length = dis.readInt()) != END_OF_RECORDS) {
+				final byte[] record = new byte[length];
+				dis.readFully(record);
+				decoder.submit(new Callable<Question>() {
+					public Question call() throws Exception {
+						return decodeQuestion(record, header);
+					}
+				});
+			}
+			decoder.finish();
+		} finally {
+			decoder.shutdown();
+		}
+	}
+
+	// write
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Write the pool of questions and configuration details in the
+	 * indexed format. The file is written as fileName.tmp and then renamed,
+	 * so a failed write leaves the old file as it was.</p>
+	 *
+	 * @param fileName  file to write to.
+	 * @param qPool  the current question pool.
+	 * @param writeMarkedOnly  only write marked questions ?
+	 */
+	public static void write(final String fileName, final QuestionPool qPool,
+			boolean writeMarkedOnly) throws IOException {
+		File tempFile = new File(fileName + ".tmp");
+		try {
+			write(tempFile, qPool, writeMarkedOnly);
+		} catch (IOException ioe) {
+			tempFile.delete();
+			throw ioe;
+		}
+		IOUtils.replaceFile(tempFile, new File(fileName));
+	}
+
+	/**
+	 * Write the pool straight to the given file, e.g. a temporary file
+	 * that the caller renames.
+	 */
+	static void write(final File file, final QuestionPool qPool,
+			boolean writeMarkedOnly) throws IOException {
+
+		// DataOutputStream.size() is an int, so count the offsets here.
+		CountingOutputStream cos = new CountingOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file)));
+		DataOutputStream os = new DataOutputStream(cos);
+		try {
+			os.write(MAGIC);
+			os.writeUTF(FILE_FORMAT_VERSION);
+
+			// Configuration settings.
+			writeConfiguration(os, qPool, writeMarkedOnly);
+
+			// Each distinct image once, in the image table.
+			ImageStore imageStore = new ImageStore();
+			for (int i = 0; i < qPool.getSize(); i++) {
+				Question q = qPool.getQuestion(i);
+				if ((writeMarkedOnly) && (q.isMarked() == false)) {
+					continue;
+				}
+				QuestionContent qContent = DocumentUtils.getQuestionContent(q);
+				for (QuestionContent.ImageRef image : qContent.getImages()) {
+					imageStore.add(image.getPNG());
+				}
+			}
+			os.writeInt(imageStore.getImageCount());
+			for (int i = 0; i < imageStore.getImageCount(); i++) {
+				byte[] png = imageStore.getPNG(i);
+				os.writeInt(png.length);
+				os.write(png);
+			}
+
+			// Question records, remembering where each one starts.
+			List<Long> recordOffsets = new ArrayList<Long>();
+			List<Integer> recordLengths = new ArrayList<Integer>();
+			List<Question> recordQuestions = new ArrayList<Question>();
+			for (int i = 0; i < qPool.getSize(); i++) {
+				Question q = qPool.getQuestion(i);
+
+				// Are we only saving marked questions?
+				if ((writeMarkedOnly) && (q.isMarked() == false)) {
+					continue;
+				}
+
+				byte[] record = encodeQuestion(q, imageStore);
+				os.writeInt(record.length);
+				recordOffsets.add(Long.valueOf(cos.count));
+				recordLengths.add(record.length);
+				recordQuestions.add(q);
+				os.write(record);
+			}
+			os.writeInt(END_OF_RECORDS);
+
+			// Offset table and trailer.
+			long tableOffset = cos.count;
+			os.writeInt(recordOffsets.size());
+			for (int i = 0; i < recordOffsets.size(); i++) {
+				os.writeLong(recordOffsets.get(i));
+				os.writeInt(recordLengths.get(i));
+				os.writeInt(getDifficulty(recordQuestions.get(i)));
+				writeTags(os, recordQuestions.get(i).getTags());
+			}
+			os.writeLong(tableOffset);
+			os.write(MAGIC);
+		} finally {
+			os.close();
+		}
+	}
+
+	/**
+	 * Encode one question as a deflated record, holding its own images.
+	 */
+	static byte[] encodeQuestion(final Question q) throws IOException {
+		return encodeQuestion(q, null);
+	}
+
+	/**
+	 * Encode one question as a deflated record, referring to its images
+	 * by their ids in imageStore (or holding them itself, if null).
+	 */
+	static byte[] encodeQuestion(final Question q, ImageStore imageStore)
+			throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream os = new DataOutputStream(new DeflaterOutputStream(bos));
+
+		writeString(os, q.getQuestionText());
+		writeString(os, q.getHintText());
+		writeString(os, q.getExplainText());
+		os.writeBoolean(q.isMarked() != null && q.isMarked());
+
+		if (q.getQuestionType() == QuestionType.DRAG_N_DROP) {
+			os.writeByte(2);
+		}
+		else {
+			os.writeByte(1);
+		}
+
+		List<PossibleAnswer> pAnswers = q.getPossibleAnswers();
+		os.writeInt(pAnswers.size());
+		for (PossibleAnswer pa : pAnswers) {
+			writeString(os, pa.getTheAnswer());
+			writeString(os, pa.getAnswerExplanation().toString());
+		}
+
+		List<Integer> cAnswers = q.getCorrectAnswers();
+		os.writeInt(cAnswers.size());
+		for (Integer c : cAnswers) {
+			os.writeInt(c);
+		}
+
+		// Enough details to reconstruct the DefaultStyledDocument.
+		QuestionContent qContent = DocumentUtils.getQuestionContent(q);
+		writeString(os, qContent.getText());
+
+		os.writeInt(qContent.getImages().size());
+		for (QuestionContent.ImageRef image : qContent.getImages()) {
+			os.writeInt(image.getPosition());
+			writeImage(os, image, imageStore);
+		}
+
+		os.writeInt(qContent.getBlanks().size());
+		for (QuestionContent.Blank blank : qContent.getBlanks()) {
+			os.writeInt(blank.getPosition());
+			writeString(os, blank.getText());
+		}
+
+		os.writeByte(FIELD_TAGS);
+		os.writeInt(getDifficulty(q));
+		writeTags(os, q.getTags());
+
+		os.close();
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Construct a question from a deflated record that holds its own images.
+	 */
+	static Question decodeQuestion(final byte[] record) throws IOException {
+		return decodeQuestion(record, null);
+	}
+
+	/**
+	 * Construct a question from a deflated record, taking any images it
+	 * refers to from the image table of file (which may be null).
+	 */
+	static Question decodeQuestion(final byte[] record, JQSIndexedFile file)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new InflaterInputStream(
+				new ByteArrayInputStream(record)));
+
+		String qText = readString(in);
+		String hintText = readString(in);
+		String eText = readString(in);
+		boolean marked = in.readBoolean();
+
+		QuestionType questionType;
+		if (in.readByte() == 2) {
+			questionType = QuestionType.DRAG_N_DROP;
+		}
+		else {
+			questionType = QuestionType.MULTI_CHOICE;
+		}
+
+		int numPAnswers = in.readInt();
+		List<PossibleAnswer> pAnswers = new ArrayList<PossibleAnswer>(numPAnswers);
+		for (int j = 0; j < numPAnswers; j++) {
+			String pString = readString(in);
+			String eString = readString(in);
+			pAnswers.add(new PossibleAnswer(pString, false, j, new StringBuilder(eString)));
+		}
+
+		int numCAnswers = in.readInt();
+		List<Integer> cAnswers = new ArrayList<Integer>(numCAnswers);
+		for (int j = 0; j < numCAnswers; j++) {
+			cAnswers.add(in.readInt());
+		}
+
+		String docText = readString(in);
+
+		int imageCount = in.readInt();
+		List<QuestionContent.ImageRef> images = 
+				new ArrayList<QuestionContent.ImageRef>(imageCount);
+		for (int i = 0; i < imageCount; i++) {
+			int pos = in.readInt();
+			images.add(readImage(in, pos, file));
+		}
+
+		int jtfCount = in.readInt();
+		List<QuestionContent.Blank> blanks = 
+				new ArrayList<QuestionContent.Blank>(jtfCount);
+		for (int i = 0; i < jtfCount; i++) {
+			int pos = in.readInt();
+			blanks.add(new QuestionContent.Blank(pos, readString(in)));
+		}
+
+		int difficulty = 0;
+		Set<String> tags = Collections.emptySet();
+		if (in.read() == FIELD_TAGS) {
+			difficulty = in.readInt();
+			tags = readTags(in);
+		}
+
+		in.close();
+		Question question = new Question(null, qText, pAnswers, cAnswers, questionType,
+				new QuestionContent(docText, images, blanks), hintText, eText, marked);
+		question.setTags(tags);
+		question.setDifficulty(difficulty);
+		return question;
+	}
+
+	/**
+	 * Write an image as its encoding, width, height and either its id in
+	 * imageStore or, if that is null, its PNG data.
+	 */
+	private static void writeImage(DataOutput os, QuestionContent.ImageRef image,
+			ImageStore imageStore) throws IOException {
+		byte[] png = image.getPNG();
+
+		if (imageStore != null) {
+			os.writeByte(IMAGE_REF);
+			os.writeInt(image.getWidth());
+			os.writeInt(image.getHeight());
+			os.writeInt(imageStore.add(png));
+			return;
+		}
+
+		os.writeByte(IMAGE_PNG);
+		os.writeInt(image.getWidth());
+		os.writeInt(image.getHeight());
+		os.writeInt(png.length);
+		os.write(png);
+	}
+
+	/**
+	 * Read an image written by writeImage, in any encoding. Images from
+	 * an open file share their PNG data with every other copy.
+	 */
+	private static QuestionContent.ImageRef readImage(DataInput in, int pos,
+			JQSIndexedFile file) throws IOException {
+		byte encoding = in.readByte();
+		int w = in.readInt();
+		int h = in.readInt();
+		byte[] png;
+
+		if (encoding == IMAGE_REF) {
+			int id = in.readInt();
+			if (file == null) {
+				throw new IOException("Image reference " + id + " without an image table");
+			}
+			if (id < 0 || id >= file.imagePNGs.length) {
+				throw new IOException("Bad image reference " + id);
+			}
+			png = file.imagePNGs[id];
+		}
+		else if (encoding == IMAGE_PNG) {
+			png = new byte[in.readInt()];
+			in.readFully(png);
+			if (file != null) {
+				png = file.imageStore.getPNG(file.imageStore.add(png));
+			}
+		}
+		else {
+			throw new IOException("Unknown image encoding " + encoding);
+		}
+		return new QuestionContent.ImageRef(pos, w, h, png);
+	}
+
+	/**
+	 * Write the configuration settings of a pool, as in the header. The
+	 * sampling spec is left out when only the marked questions are 
+	 * written, as its weights refer to questions by number.
+	 */
+	static void writeConfiguration(DataOutput os, final QuestionPool qPool,
+			boolean writeMarkedOnly) throws IOException {
+		writeString(os, qPool.getDescriptionText());
+		os.writeBoolean(qPool.getIsChangeAllowed());
+		os.writeBoolean(qPool.getIsExam());
+		os.writeBoolean(qPool.getTimed());
+		os.writeInt(qPool.getTimeLimit());
+		os.writeBoolean(qPool.getDisplayFinalScore());
+		os.writeBoolean(qPool.getDisplayPrintOption());
+		writeString(os, qPool.getStudentName());
+		os.writeInt(qPool.getNumberOfQuestions());
+		os.writeUTF(qPool.getScoringRule().name());
+		os.writeInt(qPool.getScoringThreshold());
+		writeString(os, writeMarkedOnly ? "" : qPool.getSampling());
+	}
+
+	/**
+	 * Read configuration settings written by writeConfiguration straight
+	 * into a pool. The stream holds just the settings.
+	 */
+	static void readConfiguration(DataInputStream in, final QuestionPool qPool)
+			throws IOException {
+		qPool.setDescriptionText(readString(in));
+		qPool.setIsChangeAllowed(in.readBoolean());
+		qPool.setIsExam(in.readBoolean());
+		qPool.setTimed(in.readBoolean());
+		qPool.setTimeLimit(in.readInt());
+		qPool.setDisplayFinalScore(in.readBoolean());
+		qPool.setDisplayPrintOption(in.readBoolean());
+		qPool.setStudentName(readString(in));
+		qPool.setNumberOfQuestions(in.readInt());
+		qPool.setScoringRule(ScoringRule.valueOf(in.readUTF()));
+		qPool.setScoringThreshold(in.readInt());
+		qPool.setSampling(readString(in));
+	}
+
+	/**
+	 * Write a question's tags, as a count and then each tag.
+	 */
+	private static void writeTags(DataOutput os, Set<String> tags)
+			throws IOException {
+		os.writeInt(tags.size());
+		for (String tag : tags) {
+			writeString(os, tag);
+		}
+	}
+
+	/**
+	 * Read tags written by writeTags.
+	 */
+	private static Set<String> readTags(DataInput in) throws IOException {
+		int count = in.readInt();
+		Set<String> tags = new LinkedHashSet<String>();
+		for (int i = 0; i < count; i++) {
+			tags.add(readString(in));
+		}
+		return Collections.unmodifiableSet(tags);
+	}
+
+	private static int getDifficulty(Question q) {
+		return (q.getDifficulty() == null) ? 0 : q.getDifficulty();
+	}
+
+	/**
+	 * Write a length-prefixed UTF-8 string. null is written as "".
+	 */
+	static void writeString(DataOutput os, String str) throws IOException {
+		if (str == null) {
+			str = "";
+		}
+		byte[] bytes = str.getBytes(CHARSET);
+		os.writeInt(bytes.length);
+		os.write(bytes);
+	}
+
+	/**
+	 * Read a string written by writeString.
+	 */
+	static String readString(DataInput in) throws IOException {
+		int length = in.readInt();
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, CHARSET);
+	}
+
+	/**
+	 * Compare two version numbers by their major and then minor numbers,
+	 * so that e.g. 1.10 is later than 1.3 - which a string compare gets
+	 * wrong. Also used for the versions of the 0.9 text format.
+	 *
+	 * @return negative, zero or positive as v1 is earlier than, the same
+	 *         as, or later than v2.
+	 * @throws IOException if a version is not major.minor.
+	 */
+	static int compareVersions(String v1, String v2) throws IOException {
+		int[] n1 = parseVersion(v1);
+		int[] n2 = parseVersion(v2);
+		if (n1[0] != n2[0]) {
+			return (n1[0] < n2[0]) ? -1 : 1;
+		}
+		if (n1[1] != n2[1]) {
+			return (n1[1] < n2[1]) ? -1 : 1;
+		}
+		return 0;
+	}
+
+	private static int[] parseVersion(String version) throws IOException {
+		String[] parts = version.trim().split("\\.");
+		try {
+			int major = Integer.parseInt(parts[0]);
+			int minor = (parts.length > 1) ? Integer.parseInt(parts[1]) : 0;
+			return new int[] {major, minor};
+		} catch (NumberFormatException nfe) {
+			throw new IOException("Bad file format version " + version);
+		}
+	}
+
+	private static void checkMagic(DataInput in) throws IOException {
+		byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (magic[i] != MAGIC[i]) {
+				throw new IOException("Not an indexed JQuestions file");
+			}
+		}
+	}
+
+
+	/**
+	 * Counts the bytes written, so the offset of each record is known.
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+		long count = 0;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+
+	/**
+	 * Thrown when the file was written by a newer version of JQuestions.
+	 * Its message is meant for the user, e.g. in an error dialog.
+	 */
+	@SuppressWarnings("serial")
+	public static class NewerVersionException extends IOException {
+		NewerVersionException(String version) {
+			super("Newer file format (" + version + "). You need to upgrade "
+					+ "JQuestions to a newer version\nto read this file. "
+					+ "Visit http://sourceforge.net/projects/jquestions");
+		}
+	}
+}
@@ -0,0 +1,739 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import question.Question;
+import question.QuestionPool;
+
+
+// JQSJournal
+//-----------------------------------------------------------------------
+/**
+ * <p>An append-only log of the changes saved to a .jqs file, so that a
+ * save only has to write the questions that changed.</p>
+ *
+ * <p>The journal is kept beside the file, as <code>fileName.journal</code>.
+ * Each save appends one batch of changes:</p>
+ * <pre>
+ *   MAGIC  "JQSJ", version (UTF)
+ *   stamp        length, last modified time and tail CRC of the .jqs file
+ *   batch 0      int length, length bytes of changes, long CRC32
+ *   batch 1      ...
+ * </pre>
+ * <p>A batch is a list of changes, each an op code followed by its data:
+ * ADD (question record), PUT (index, question record), DELETE (index) or
+ * CONFIG (configuration settings), and finally END. Question records and
+ * settings are encoded as in the indexed format.</p>
+ * <ul>
+ * <li><code>IOUtils.readFile</code> replays the journal after reading the
+ *     file itself.
+ * <li>The .jqs file is never written by a save. A save interrupted by a
+ *     crash leaves a batch with a bad length or CRC at the end of the
+ *     journal, which is ignored - so the file opens as it was at the
+ *     last complete save.
+ * <li>Compacting writes the file plus its journal to a temporary file,
+ *     renames it over the .jqs file, then deletes the journal. If that is
+ *     interrupted the stamp no longer matches, and the old journal is
+ *     ignored.
+ * </ul>
+ *
+ * <p>An instance records the changes made to an open pool, until they are
+ * saved.</p>
+ *
+ * @see IOUtils
+ * @see JQSIndexedFile
+ */
+
+public class JQSJournal {
+
+	// Appended to the .jqs file name.
+	public static final String JOURNAL_EXTENSION = ".journal";
+
+	// Version of the journal format.
+	static final String JOURNAL_FORMAT_VERSION = "1.0";
+
+	// First four bytes of every journal.
+	static final byte[] MAGIC = {'J', 'Q', 'S', 'J'};
+
+	// Op codes.
+	private static final byte OP_END = 0;
+	private static final byte OP_ADD = 1;
+	private static final byte OP_PUT = 2;
+	private static final byte OP_DELETE = 3;
+	private static final byte OP_CONFIG = 4;
+
+	// Number of bytes at the end of the .jqs file covered by the stamp.
+	private static final int STAMP_TAIL_LENGTH = 4096;
+
+	private final String fileName;
+	private final File journalFile;
+
+	// End of the last complete batch in the journal (0 if none).
+	private long validLength = 0;
+
+	// Structural changes (ADD, DELETE) since the last save, in order.
+	private final List<Edit> edits = new ArrayList<Edit>();
+
+	// Questions that have been changed since the last save.
+	private final Set<Question> changed =
+		Collections.newSetFromMap(new IdentityHashMap<Question, Boolean>());
+
+	// Checksum of each question's record, when last known to be saved.
+	private final Map<Question, Long> checksums = new IdentityHashMap<Question, Long>();
+
+	// Configuration settings as last saved.
+	private byte[] savedConfig;
+
+	// Is a compaction running in the background ?
+	private volatile boolean compacting = false;
+
+
+	/**
+	 * Start journaling changes to a .jqs file, which must already have been
+	 * read into the pool (journal included). A journal left over from a
+	 * different version of the file is deleted.
+	 *
+	 * @param fileName - the .jqs file.
+	 * @param qPool - the pool read from it.
+	 */
+	public JQSJournal(final String fileName, final QuestionPool qPool) {
+		this.fileName = fileName;
+		journalFile = getJournalFile(fileName);
+		try {
+			savedConfig = encodeConfiguration(qPool);
+		} catch (IOException ioe) {
+			savedConfig = null;     // Will be saved with the first batch.
+		}
+
+		if (journalFile.exists()) {
+			try {
+				validLength = scan(fileName, null);
+				if (validLength == 0) {
+					journalFile.delete();
+				}
+			} catch (IOException ioe) {
+				// Unreadable - leave it be. Saving will start it again.
+				validLength = 0;
+			}
+		}
+	}
+
+	/**
+	 * @param fileName - a .jqs file.
+	 * @return the journal for that file.
+	 */
+	public static File getJournalFile(final String fileName) {
+		return new File(fileName + JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * @param fileName - a .jqs file.
+	 * @return true if the file has a journal (which may be out of date).
+	 */
+	public static boolean exists(final String fileName) {
+		return getJournalFile(fileName).exists();
+	}
+
+	/**
+	 * @param otherFileName - a .jqs file.
+	 * @return true if this is the journal for that file.
+	 */
+	public boolean isJournalFor(final String otherFileName) {
+		return new File(fileName).getAbsoluteFile().equals(
+				new File(otherFileName).getAbsoluteFile());
+	}
+
+	/**
+	 * Remember the current contents of a question, as saved - e.g. when
+	 * it is displayed for editing - so checkChanged() can tell if it has
+	 * been changed since.
+	 *
+	 * @param question
+	 */
+	public void markClean(final Question question) {
+		if (!changed.contains(question)) {
+			checksums.put(question, checksum(question));
+		}
+	}
+
+	/**
+	 * Note the question as changed if its contents differ from when it
+	 * was marked clean (or it was never marked clean).
+	 *
+	 * @param question
+	 */
+	public void checkChanged(final Question question) {
+		long checksum = checksum(question);
+		Long previous = checksums.put(question, checksum);
+		if ((previous == null) || (previous.longValue() != checksum)
+				|| (checksum == -1)) {
+			changed.add(question);
+		}
+	}
+
+	/**
+	 * Note a question as added to the end of the pool.
+	 *
+	 * @param question
+	 */
+	public void questionAdded(final Question question) {
+		edits.add(new Edit(OP_ADD, -1, question));
+	}
+
+	/**
+	 * Delete a question from the pool, noting its position.
+	 *
+	 * @param qPool - the pool.
+	 * @param question - the Question to be deleted.
+	 * @return did the delete succeed or fail ?
+	 */
+	public boolean deleteQuestion(final QuestionPool qPool, final Question question) {
+		int index = qPool.indexOf(question);
+
+		boolean result = qPool.deleteQuestion(question);
+		if (result && (index >= 0)) {
+			edits.add(new Edit(OP_DELETE, index, null));
+		}
+		return result;
+	}
+
+	/**
+	 * Delete a number of questions from the pool at once, noting their
+	 * positions. They are noted from the last to the first, so that each
+	 * position is still that of the question when the journal is replayed.
+	 *
+	 * @param qPool - the pool.
+	 * @param questions - the Questions to be deleted.
+	 * @return the number of questions deleted.
+	 */
+	public int deleteQuestions(final QuestionPool qPool, final Collection<Question> questions) {
+		List<Integer> indexes = new ArrayList<Integer>();
+		for (Question question : questions) {
+			int index = qPool.indexOf(question);
+			if (index >= 0) {
+				indexes.add(index);
+			}
+		}
+		Collections.sort(indexes, Collections.reverseOrder());
+
+		int result = qPool.deleteQuestions(questions);
+		int last = -1;
+		for (int index : indexes) {
+			if (index != last) {
+				edits.add(new Edit(OP_DELETE, index, null));
+			}
+			last = index;
+		}
+		return result;
+	}
+
+	// save
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Append every change made since the last save to the journal, as
+	 * one batch. Only the changed questions are encoded and written.</p>
+	 *
+	 * <p>If the journal has grown larger than the .jqs file it is compacted,
+	 * in the background.</p>
+	 *
+	 * @param qPool - the pool being edited.
+	 * @throws IOException if the journal can't be written.
+	 */
+	public synchronized void save(final QuestionPool qPool) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DataOutputStream os = new DataOutputStream(baos);
+
+		// Structural changes, in the order they were made.
+		Set<Question> added =
+			Collections.newSetFromMap(new IdentityHashMap<Question, Boolean>());
+		for (Edit edit : edits) {
+			os.writeByte(edit.op);
+			if (edit.op == OP_ADD) {
+				writeRecord(os, JQSIndexedFile.encodeQuestion(edit.question));
+				added.add(edit.question);
+			}
+			else {
+				os.writeInt(edit.index);
+			}
+		}
+
+		// Changed questions, at their current positions.
+		if (!changed.isEmpty()) {
+			Map<Question, Integer> positions = new IdentityHashMap<Question, Integer>();
+			for (int i = 0; i < qPool.getSize(); i++) {
+				Question q = qPool.getQuestion(i);
+				if (changed.contains(q) && !added.contains(q)) {
+					positions.put(q, i);
+				}
+			}
+			for (Map.Entry<Question, Integer> entry : positions.entrySet()) {
+				os.writeByte(OP_PUT);
+				os.writeInt(entry.getValue());
+				writeRecord(os, JQSIndexedFile.encodeQuestion(entry.getKey()));
+			}
+		}
+
+		byte[] config = encodeConfiguration(qPool);
+		if (!Arrays.equals(config, savedConfig)) {
+			os.writeByte(OP_CONFIG);
+			writeRecord(os, config);
+		}
+
+		if (os.size() == 0) {
+			return;    // Nothing to save.
+		}
+		os.writeByte(OP_END);
+		os.close();
+
+		append(baos.toByteArray());
+
+		edits.clear();
+		changed.clear();
+		savedConfig = config;
+
+		if (journalFile.length() > new File(fileName).length()) {
+			compactInBackground();
+		}
+	}
+
+	/**
+	 * Append one batch to the journal, and wait for it to reach the disk.
+	 * Anything after the last complete batch (e.g. from a crash) is
+	 * overwritten.
+	 */
+	private void append(byte[] batch) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(batch);
+
+		RandomAccessFile raf = new RandomAccessFile(journalFile, "rw");
+		try {
+			if (validLength == 0) {
+				raf.seek(0);
+				raf.write(MAGIC);
+				raf.writeUTF(JOURNAL_FORMAT_VERSION);
+				writeStamp(raf, new File(fileName));
+				validLength = raf.getFilePointer();
+			}
+			raf.seek(validLength);
+			raf.writeInt(batch.length);
+			raf.write(batch);
+			raf.writeLong(crc.getValue());
+			long end = raf.getFilePointer();
+			raf.setLength(end);
+			raf.getFD().sync();
+			validLength = end;
+		} finally {
+			raf.close();
+		}
+	}
+
+	// replay
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Apply every complete batch in a file's journal to a pool that has
+	 * just been read from the file. Does nothing if there is no journal, or
+	 * it belongs to a different version of the file.</p>
+	 *
+	 * @param fileName - the .jqs file.
+	 * @param qPool - the pool read from it.
+	 * @throws IOException if the journal can't be read.
+	 */
+	public static void replay(final String fileName, final QuestionPool qPool)
+			throws IOException {
+		if (exists(fileName)) {
+			scan(fileName, qPool);
+		}
+	}
+
+	/**
+	 * Read the journal of a file, applying each complete batch to the pool
+	 * (if not null).
+	 *
+	 * @return the end of the last complete batch, or 0 if the journal
+	 *         doesn't belong to the file.
+	 */
+	private static long scan(final String fileName, final QuestionPool qPool)
+			throws IOException {
+		File file = new File(fileName);
+		CountingInputStream cis = new CountingInputStream(new BufferedInputStream(
+				new FileInputStream(getJournalFile(fileName))));
+		DataInputStream in = new DataInputStream(cis);
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			in.readFully(magic);
+			if (!Arrays.equals(magic, MAGIC)) {
+				return 0;
+			}
+			String version = in.readUTF();
+			if (JQSIndexedFile.compareVersions(version, JOURNAL_FORMAT_VERSION) > 0) {
+				throw new JQSIndexedFile.NewerVersionException(version);
+			}
+			if (!checkStamp(in, file)) {
+				return 0;
+			}
+
+			long validLength = cis.count;
+			while (true) {
+				byte[] batch;
+				try {
+					int length = in.readInt();
+					if (length <= 0) {
+						break;
+					}
+					batch = new byte[length];
+					in.readFully(batch);
+					CRC32 crc = new CRC32();
+					crc.update(batch);
+					if (in.readLong() != crc.getValue()) {
+						break;
+					}
+				} catch (EOFException eofe) {
+					break;     // Incomplete batch - the last save didn't finish.
+				}
+
+				if (qPool != null) {
+					applyBatch(batch, qPool);
+				}
+				validLength = cis.count;
+			}
+			return validLength;
+		} catch (EOFException eofe) {
+			return 0;          // Incomplete header.
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Apply the changes in one batch to the pool.
+	 */
+	private static void applyBatch(byte[] batch, final QuestionPool qPool)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(batch));
+
+		// A run of DELETEs at falling positions, deleted together.
+		List<Question> deleting = new ArrayList<Question>();
+		int lastDeleted = Integer.MAX_VALUE;
+
+		byte op;
+		while ((op = in.readByte()) != OP_END) {
+			if (op == OP_DELETE) {
+				int index = in.readInt();
+				if (index >= lastDeleted) {
+					qPool.deleteQuestions(deleting);
+					deleting.clear();
+				}
+				Question question = qPool.getQuestion(index);
+				if (question != null) {
+					deleting.add(question);
+				}
+				lastDeleted = index;
+				continue;
+			}
+
+			if (!deleting.isEmpty()) {
+				qPool.deleteQuestions(deleting);
+				deleting.clear();
+			}
+			lastDeleted = Integer.MAX_VALUE;
+
+			if (op == OP_ADD) {
+				qPool.addQuestion(JQSIndexedFile.decodeQuestion(readRecord(in)));
+			}
+			else if (op == OP_PUT) {
+				int index = in.readInt();
+				qPool.setQuestion(index, JQSIndexedFile.decodeQuestion(readRecord(in)));
+			}
+			else if (op == OP_CONFIG) {
+				JQSIndexedFile.readConfiguration(new DataInputStream(
+						new ByteArrayInputStream(readRecord(in))), qPool);
+			}
+			else {
+				throw new IOException("Unknown journal entry " + op);
+			}
+		}
+		qPool.deleteQuestions(deleting);
+	}
+
+	// compact
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Merge the journal into the .jqs file, and delete it. The file is
+	 * rewritten, in the same format, from what is on disk - changes that
+	 * haven't been saved are not included.</p>
+	 *
+	 * @throws IOException if the file can't be rewritten. The file and its
+	 *                     journal are then left as they were.
+	 */
+	public synchronized void compact() throws IOException {
+		if (!journalFile.exists()) {
+			validLength = 0;
+			return;
+		}
+		if (scan(fileName, null) == 0) {     // Belongs to a different version.
+			journalFile.delete();
+			validLength = 0;
+			return;
+		}
+
+		// Read the file and its journal into a pool of our own.
+		QuestionPool qPool = new QuestionPool();
+		InputStream ins = new BufferedInputStream(new FileInputStream(fileName));
+		boolean indexed;
+		try {
+			indexed = JQSIndexedFile.isIndexedFile(ins);
+			IOUtils.readStream(ins, qPool, null, 1);
+		} finally {
+			ins.close();
+		}
+		replay(fileName, qPool);
+
+		// Write it all to a temporary file.
+		File file = new File(fileName);
+		File tempFile = new File(fileName + ".tmp");
+		try {
+			if (indexed) {
+				JQSIndexedFile.write(tempFile, qPool, false);
+			}
+			else {
+				IOUtils.writeGZIPFile(tempFile.getPath(), qPool, false,
+						Deflater.DEFAULT_COMPRESSION, 1);
+			}
+		} catch (IOException ioe) {
+			tempFile.delete();
+			throw ioe;
+		} catch (Exception e) {
+			tempFile.delete();
+			throw new IOException(e.toString());
+		}
+
+		IOUtils.replaceFile(tempFile, file);
+
+		journalFile.delete();
+		validLength = 0;
+	}
+
+	/**
+	 * Compact the journal on a background thread, unless that is already
+	 * being done. Saves made meanwhile wait for it to finish; errors are 
+	 * only logged, and leave the journal to be replayed.
+	 */
+	public synchronized void compactInBackground() {
+		if (compacting) {
+			return;
+		}
+		compacting = true;
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					compact();
+				} catch (IOException ioe) {
+					System.out.println("ERROR Compacting Journal(" + journalFile + "): " + ioe);
+					ioe.printStackTrace();
+				} finally {
+					synchronized (JQSJournal.this) {
+						compacting = false;
+						JQSJournal.this.notifyAll();
+					}
+				}
+			}
+		}, "JQSJournal compaction");
+		thread.start();
+	}
+
+	/**
+	 * @return is a compaction running in the background ? Unlike the
+	 *         other methods, this doesn't wait for it.
+	 */
+	public boolean isCompacting() {
+		return compacting;
+	}
+
+	/**
+	 * Wait for a compaction running in the background to finish.
+	 */
+	public synchronized void waitForCompaction() throws InterruptedException {
+		while (compacting) {
+			wait();
+		}
+	}
+
+	/**
+	 * @return the .jqs file being journaled.
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Forget any unsaved changes and delete the journal, e.g. because the
+	 * whole file has just been written.
+	 */
+	public synchronized void discard() {
+		edits.clear();
+		changed.clear();
+		journalFile.delete();
+		validLength = 0;
+	}
+
+	/**
+	 * @return CRC32 of the question's record, or -1 if it can't be encoded.
+	 */
+	private static long checksum(final Question question) {
+		try {
+			CRC32 crc = new CRC32();
+			crc.update(JQSIndexedFile.encodeQuestion(question));
+			return crc.getValue();
+		} catch (IOException ioe) {
+			return -1;
+		}
+	}
+
+	private static byte[] encodeConfiguration(final QuestionPool qPool)
+			throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DataOutputStream os = new DataOutputStream(baos);
+		JQSIndexedFile.writeConfiguration(os, qPool, false);
+		os.close();
+		return baos.toByteArray();
+	}
+
+	private static void writeRecord(DataOutputStream os, byte[] record)
+			throws IOException {
+		os.writeInt(record.length);
+		os.write(record);
+	}
+
+	private static byte[] readRecord(DataInputStream in) throws IOException {
+		byte[] record = new byte[in.readInt()];
+		in.readFully(record);
+		return record;
+	}
+
+	/**
+	 * Identify the current version of the .jqs file: its length, last
+	 * modified time and the CRC32 of its last few KB (for a gzipped file
+	 * that includes the CRC of its contents).
+	 */
+	private static void writeStamp(RandomAccessFile raf, File file)
+			throws IOException {
+		raf.writeLong(file.length());
+		raf.writeLong(file.lastModified());
+		raf.writeLong(tailChecksum(file));
+	}
+
+	private static boolean checkStamp(DataInputStream in, File file)
+			throws IOException {
+		long length = in.readLong();
+		long lastModified = in.readLong();
+		long tail = in.readLong();
+		return (length == file.length()) && (lastModified == file.lastModified())
+				&& (tail == tailChecksum(file));
+	}
+
+	private static long tailChecksum(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			long length = raf.length();
+			int n = (int) Math.min(length, STAMP_TAIL_LENGTH);
+			byte[] tail = new byte[n];
+			raf.seek(length - n);
+			raf.readFully(tail);
+			CRC32 crc = new CRC32();
+			crc.update(tail);
+			return crc.getValue();
+		} finally {
+			raf.close();
+		}
+	}
+
+
+	/**
+	 * A structural change to the pool.
+	 */
+	private static class Edit {
+		final byte op;
+		final int index;
+		final Question question;
+
+		Edit(byte op, int index, Question question) {
+			this.op = op;
+			this.index = index;
+			this.question = question;
+		}
+	}
+
+	/**
+	 * Counts the bytes read, so the end of each batch is known.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		long count = 0;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+
+// JQSTokenizer
+//-----------------------------------------------------------------------
+/**
+ * <p>An incremental tokenizer for the delimited .jqs file format.</p>
+ *
+ * <p>Behaves like a <code>java.util.StringTokenizer</code> constructed with
+ * a single delimiter character and <code>returnDelims == false</code>,
+ * except that it pulls its input from a <code>Reader</code> in fixed size
+ * chunks. Only the token currently being built is held in memory, so a
+ * file never has to be copied into one large String before it can be
+ * parsed.</p>
+ * <ul>
+ * <li>Consecutive delimiters are treated as one, exactly as the
+ *     StringTokenizer did, so files written by older versions of
+ *     JQuestions are read identically.
+ * <li>Tokens may span any number of chunks.
+ * </ul>
+ *
+ * @see IOUtils
+ */
+
+public class JQSTokenizer {
+
+	// Number of chars read from the underlying Reader at a time.
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+	private final char delim;
+	private final char[] buff = new char[BUFFER_SIZE];
+	private int pos = 0;
+	private int limit = 0;
+	private boolean eof = false;
+
+	// One token of look-ahead, so hasMoreTokens() can be answered.
+	private String nextToken = null;
+
+	// Re-used when a token spans more than one chunk.
+	private final StringBuilder partial = new StringBuilder();
+
+
+	/**
+	 * @param reader - the source of the (already decompressed) characters.
+	 * @param delim - the field delimiter.
+	 */
+	public JQSTokenizer(Reader reader, char delim) {
+		this.reader = reader;
+		this.delim = delim;
+	}
+
+	/**
+	 * @return true if at least one more token is available.
+	 * @throws IOException if the underlying Reader fails.
+	 */
+	public boolean hasMoreTokens() throws IOException {
+		if (nextToken == null) {
+			nextToken = readToken();
+		}
+		return nextToken != null;
+	}
+
+	/**
+	 * @return the next token.
+	 * @throws IOException if the underlying Reader fails.
+	 * @throws NoSuchElementException if there are no more tokens.
+	 */
+	public String nextToken() throws IOException {
+		if (!hasMoreTokens()) {
+			throw new NoSuchElementException();
+		}
+		String token = nextToken;
+		nextToken = null;
+		return token;
+	}
+
+	/**
+	 * Close the underlying Reader.
+	 */
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Skip any leading delimiters, then collect chars up to the next
+	 * delimiter (or end of input).
+	 *
+	 * @return the token, or null at end of input.
+	 */
+	private String readToken() throws IOException {
+
+		// Skip delimiters - empty tokens are never returned.
+		do {
+			if (pos >= limit && !fill()) {
+				return null;
+			}
+			while (pos < limit && buff[pos] == delim) {
+				pos++;
+			}
+		} while (pos >= limit);
+
+		partial.setLength(0);
+		while (true) {
+			int start = pos;
+			while (pos < limit && buff[pos] != delim) {
+				pos++;
+			}
+
+			if (pos < limit) {     // Found the delimiter.
+				String token;
+				if (partial.length() == 0) {
+					token = new String(buff, start, pos - start);
+				}
+				else {
+					partial.append(buff, start, pos - start);
+					token = partial.toString();
+				}
+				pos++;
+				return token;
+			}
+
+			// Token continues into the next chunk.
+			partial.append(buff, start, pos - start);
+			if (!fill()) {
+				return partial.toString();
+			}
+		}
+	}
+
+	/**
+	 * Read the next chunk of input.
+	 *
+	 * @return false at end of input.
+	 */
+	private boolean fill() throws IOException {
+		if (eof) {
+			return false;
+		}
+		int numRead;
+		do {
+			numRead = reader.read(buff, 0, BUFFER_SIZE);
+		} while (numRead == 0);
+
+		if (numRead < 0) {
+			eof = true;
+			pos = limit = 0;
+			return false;
+		}
+		pos = 0;
+		limit = numRead;
+		return true;
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import question.Question;
+import question.QuestionPool;
+
+
+// OrderedQuestionDecoder
+//-----------------------------------------------------------------------
+/**
+ * <p>Decodes questions on a pool of threads, but adds them to the
+ * QuestionPool (and reports them to the listener) in the order they
+ * were submitted - i.e. file order.</p>
+ * <ul>
+ * <li>The reader separates out the data for each question and submits
+ *     a task that builds the Question from it. Building the answer
+ *     lists and the QuestionContent (text, image references and blanks)
+ *     is independent work for each question, and creates no Swing
+ *     objects, so it can be done in parallel.
+ * <li>With one thread, each task is run as soon as it is submitted, on
+ *     the reading thread, exactly as before.
+ * <li>At most a few tasks per thread are outstanding at once, so a large
+ *     file is never held in memory as undecoded data.
+ * </ul>
+ *
+ * @see IOUtils
+ * @see JQSIndexedFile
+ */
+
+class OrderedQuestionDecoder {
+
+	// Outstanding tasks allowed per thread before the reader waits.
+	private static final int TASKS_PER_THREAD = 4;
+
+	private final QuestionPool qPool;
+	private final QuestionReadListener listener;
+	private final ExecutorService executor;
+	private final int maxPending;
+
+	// Submitted tasks, oldest first.
+	private final LinkedList<Future<Question>> pending = new LinkedList<Future<Question>>();
+
+
+	/**
+	 * @param qPool - the pool to add the questions to.
+	 * @param listener - notified as each question is added (may be null).
+	 * @param nThreads - the number of decoding threads.
+	 */
+	OrderedQuestionDecoder(QuestionPool qPool, QuestionReadListener listener,
+			int nThreads) {
+		this.qPool = qPool;
+		this.listener = listener;
+		if (nThreads > 1) {
+			executor = Executors.newFixedThreadPool(nThreads);
+			maxPending = nThreads * TASKS_PER_THREAD;
+		}
+		else {
+			executor = null;
+			maxPending = 0;
+		}
+	}
+
+	/**
+	 * Decode a question, adding it to the pool once all those submitted
+	 * before it have been added.
+	 *
+	 * @param task - builds the Question.
+	 * @throws IOException if this, or an earlier, question can't be decoded.
+	 */
+	void submit(Callable<Question> task) throws IOException {
+		if (executor == null) {
+			try {
+				add(task.call());
+			} catch (IOException ioe) {
+				throw ioe;
+			} catch (RuntimeException re) {
+				throw re;
+			} catch (Exception e) {
+				throw new IOException(e.toString());
+			}
+			return;
+		}
+
+		pending.add(executor.submit(task));
+		while (pending.size() > maxPending) {
+			addNext();
+		}
+	}
+
+	/**
+	 * Wait for every outstanding question to be decoded and added.
+	 *
+	 * @throws IOException if a question can't be decoded.
+	 */
+	void finish() throws IOException {
+		while (!pending.isEmpty()) {
+			addNext();
+		}
+	}
+
+	/**
+	 * Stop the decoding threads. Any questions not yet added are dropped.
+	 */
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		pending.clear();
+	}
+
+	/**
+	 * Wait for the oldest outstanding question and add it.
+	 */
+	private void addNext() throws IOException {
+		Future<Question> future = pending.removeFirst();
+		try {
+			add(future.get());
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while decoding questions");
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(String.valueOf(cause));
+		}
+	}
+
+	private void add(Question question) {
+		qPool.addQuestion(question);
+		if (listener != null) {
+			listener.questionRead(question, qPool.getSize() - 1);
+		}
+	}
+}
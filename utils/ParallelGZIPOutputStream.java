@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+
+// ParallelGZIPOutputStream
+//-----------------------------------------------------------------------
+/**
+ * <p>A gzip output stream that compresses on several threads.</p>
+ *
+ * <p>The data is cut into fixed size blocks, each block is compressed on
+ * its own as a complete gzip member, and the members are written out in
+ * order. A sequence of gzip members is itself a valid gzip file, so the
+ * result is read by an ordinary <code>GZIPInputStream</code> exactly as 
+ * if it had been written by a <code>GZIPOutputStream</code> - but only 
+ * from Java 7 on. Before that, <code>GZIPInputStream</code> stops at 
+ * the end of the first member, so IOUtils only uses this stream when 
+ * asked for more than one thread, and the editor writes with one 
+ * thread unless told otherwise.</p>
+ * <ul>
+ * <li>Blocks are large enough that starting each one with an empty
+ *     dictionary costs very little compression.
+ * <li>At most a few blocks per thread are held in memory at once.
+ * <li>With one thread, each block is compressed on the writing thread.
+ * </ul>
+ *
+ * @see IOUtils
+ */
+
+public class ParallelGZIPOutputStream extends OutputStream {
+
+	// Uncompressed size of each gzip member.
+	private static final int BLOCK_SIZE = 256 * 1024;
+
+	// Outstanding blocks allowed per thread before the writer waits.
+	private static final int BLOCKS_PER_THREAD = 2;
+
+	private final OutputStream out;
+	private final int level;
+	private final ExecutorService executor;
+	private final int maxPending;
+
+	// Block currently being filled.
+	private byte[] block = new byte[BLOCK_SIZE];
+	private int count = 0;
+
+	// Has at least one member been written ? An empty file still needs one.
+	private boolean wroteMember = false;
+	private boolean closed = false;
+
+	// Blocks being compressed, oldest first.
+	private final LinkedList<Future<byte[]>> pending = new LinkedList<Future<byte[]>>();
+
+
+	/**
+	 * @param out - the stream to write the compressed data to.
+	 * @param level - the compression level, 0-9, or
+	 *                <code>Deflater.DEFAULT_COMPRESSION</code>.
+	 * @param nThreads - the number of compressing threads.
+	 */
+	public ParallelGZIPOutputStream(OutputStream out, int level, int nThreads) {
+		this.out = out;
+		this.level = level;
+		if (nThreads > 1) {
+			executor = Executors.newFixedThreadPool(nThreads);
+			maxPending = nThreads * BLOCKS_PER_THREAD;
+		}
+		else {
+			executor = null;
+			maxPending = 0;
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (count == BLOCK_SIZE) {
+			submitBlock();
+		}
+		block[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (count == BLOCK_SIZE) {
+				submitBlock();
+			}
+			int n = Math.min(len, BLOCK_SIZE - count);
+			System.arraycopy(b, off, block, count, n);
+			count += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Compress and write everything written so far. Ends the current
+	 * gzip member early, so only use it where it is really needed.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (count > 0) {
+			submitBlock();
+		}
+		while (!pending.isEmpty()) {
+			writeNext();
+		}
+		out.flush();
+	}
+
+	/**
+	 * Write the remaining data, stop the compressing threads and close
+	 * the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (count > 0 || !wroteMember) {
+				submitBlock();
+			}
+			while (!pending.isEmpty()) {
+				writeNext();
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			out.close();
+		}
+	}
+
+	/**
+	 * Hand the current block to be compressed and start a new one.
+	 */
+	private void submitBlock() throws IOException {
+		final byte[] data = block;
+		final int length = count;
+		block = new byte[BLOCK_SIZE];
+		count = 0;
+		wroteMember = true;
+
+		if (executor == null) {
+			out.write(compress(data, length, level));
+			return;
+		}
+
+		pending.add(executor.submit(new Callable<byte[]>() {
+			public byte[] call() throws IOException {
+				return compress(data, length, level);
+			}
+		}));
+		while (pending.size() > maxPending) {
+			writeNext();
+		}
+	}
+
+	/**
+	 * Wait for the oldest block to be compressed and write it.
+	 */
+	private void writeNext() throws IOException {
+		Future<byte[]> future = pending.removeFirst();
+		try {
+			out.write(future.get());
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing");
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(String.valueOf(cause));
+		}
+	}
+
+	/**
+	 * Compress one block as a complete gzip member.
+	 */
+	private static byte[] compress(byte[] data, int length, final int level)
+			throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(length / 2 + 64);
+		GZIPOutputStream gzos = new GZIPOutputStream(baos) {
+			{
+				def.setLevel(level);
+			}
+		};
+		gzos.write(data, 0, length);
+		gzos.close();
+		return baos.toByteArray();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import question.PoolSnapshot;
+import question.Question;
+import question.QuestionPool;
+
+
+// QuestionPoolPublisher
+//-----------------------------------------------------------------------
+/**
+ * <p>Hands out versions of a question pool that is being edited, so
+ * readers on other threads can use it while editing goes on.</p>
+ * <ul>
+ * <li>The editor calls {@link #publish(QuestionPool)} when a reader
+ *     needs the pool as it now is - e.g. before Find Duplicate Questions,
+ *     which reads it on another thread. That makes a PoolSnapshot of it,
+ *     with copies of the questions, and makes it the current version in
+ *     one step.
+ * <li>A reader calls {@link #getSnapshot()} when it starts, and keeps
+ *     the snapshot until it ends. Getting it takes no lock, and nothing
+ *     the editor does afterwards - including publishing again - changes
+ *     it.
+ * <li>A question that has not been changed (see Question.getModCount())
+ *     since it was last published is not copied again, nor is its
+ *     content made again from its document; the new version shares the
+ *     earlier copy, which can't be changed. Only the edited questions
+ *     are copied, but publishing still looks at every question and
+ *     builds the snapshot's tag index again, so it takes time in
+ *     proportion to the pool - just much less per unchanged question.
+ * </ul>
+ *
+ * @see PoolSnapshot
+ */
+
+public class QuestionPoolPublisher {
+
+	// The current version, read without locking.
+	private volatile PoolSnapshot current;
+
+	// Each question of the last version published, and its copy.
+	private Map<Question, Published> published = new IdentityHashMap<Question, Published>();
+
+
+	/**
+	 * Create a publisher with nothing published yet.
+	 */
+	public QuestionPoolPublisher() {
+		super();
+	}
+
+	// getSnapshot
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Get the latest version published.</p>
+	 *
+	 * @return it, or null if nothing has been published yet.
+	 */
+	public PoolSnapshot getSnapshot() {
+		return current;
+	}
+
+	// publish
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Make a new version of a pool and make it the current one. Must
+	 * be called on the thread that edits the pool (for the editor, the
+	 * event dispatch thread).</p>
+	 *
+	 * @param qPool  the pool.
+	 * @return the new version.
+	 * @throws IOException if an image of an edited question can't be
+	 *                     encoded.
+	 */
+	public synchronized PoolSnapshot publish(QuestionPool qPool) throws IOException {
+		Map<Question, Published> copies = new IdentityHashMap<Question, Published>();
+		List<Question> questions = new ArrayList<Question>();
+		for (int i = 0; i < qPool.getSize(); i++) {
+			Question q = qPool.getQuestion(i);
+			Published p = published.get(q);
+			if ((p == null) || (p.modCount != q.getModCount())) {
+				p = new Published(q);
+			}
+			copies.put(q, p);
+			questions.add(p.copy);
+		}
+
+		long version = (current == null) ? 1 : current.getVersion() + 1;
+		PoolSnapshot snapshot = new PoolSnapshot(qPool, questions, version);
+		published = copies;
+		current = snapshot;
+		return snapshot;
+	}
+
+
+	/**
+	 * A question's copy, and the number of changes the question had
+	 * when it was copied.
+	 */
+	private static final class Published {
+		final Question copy;
+		final int modCount;
+
+		Published(Question q) throws IOException {
+			this.modCount = q.getModCount();
+			this.copy = q.createSnapshot(DocumentUtils.getQuestionContent(q));
+		}
+	}
+}
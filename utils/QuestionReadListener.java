@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import question.Question;
+import question.QuestionPool;
+
+
+/**
+ * Callback used by <code>IOUtils.readFile</code> to report progress while
+ * a .jqs file is being read.
+ *
+ * Questions are added to the QuestionPool, and reported here, as soon as
+ * each one has been completely read. A caller can therefore start using
+ * the first questions before the rest of a large file has been parsed.
+ *
+ * All methods are called on the thread that is reading the file.
+ *
+ * @see IOUtils
+ */
+
+public interface QuestionReadListener {
+
+	/**
+	 * The file header has been read and the configuration settings
+	 * have been stored in the QuestionPool.
+	 *
+	 * @param qPool - the pool being read into.
+	 */
+	void configurationRead(QuestionPool qPool);
+
+	/**
+	 * A question has been read and added to the pool.
+	 *
+	 * @param question - the new Question.
+	 * @param index - its position within the pool.
+	 */
+	void questionRead(Question question, int index);
+
+	/**
+	 * The whole file has been read (or reading stopped because of an error).
+	 *
+	 * @param qPool - the pool being read into.
+	 */
+	void readFinished(QuestionPool qPool);
+}
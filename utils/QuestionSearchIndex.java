@@ -0,0 +1,442 @@
+/*
+ * Licensed to the Free Software Foundation (FSF) under one or more
+ * contributor license agreements. The FSF licenses this file to You under
+ * the GNU General Public License, Version 3.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may obtain
+ * a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/gpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import question.PossibleAnswer;
+import question.Question;
+import question.QuestionPool;
+
+
+// QuestionSearchIndex
+//-----------------------------------------------------------------------
+/**
+ * <p>A full-text index of the questions in a pool, for finding questions
+ * by the words in them.</p>
+ * <ul>
+ * <li>A question's words are those of its question text, its main display
+ *     text (document or content, see DocumentUtils.getPlainText), its hint
+ *     and explain text, and each possible answer and its explanation. Words
+ *     are runs of letters and digits, compared without case.
+ * <li>Each word has a posting list: the questions it occurs in, and how
+ *     often. A search only reads the lists of the words searched for.
+ * <li>Results are ranked by the BM25 formula - questions with more of the
+ *     words, rarer words, and in shorter text, come first.
+ * <li>The index is kept up to date one question at a time.
+ *     {@link #update(Question)} re-indexes a question after an edit, and
+ *     is cheap when the question's words haven't changed. Questions added
+ *     to or deleted from the pool are found when it is next searched, using
+ *     the pool's modification count, without re-reading the others.
+ * </ul>
+ *
+ * <p>All methods may be called from several threads at once.</p>
+ *
+ * @see DocumentUtils
+ */
+
+public class QuestionSearchIndex {
+
+	// BM25 parameters: term frequency saturation, and length normalization.
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+
+	// The pool indexed, and its modification count when last synchronized.
+	private QuestionPool qPool = null;
+	private int poolModCount = 0;
+
+	// Each indexed question, by question and by doc number. A question is
+	// given a new, higher, doc number each time it is re-indexed, so every
+	// posting list stays in doc number order.
+	private final Map<Question, Doc> docs = new IdentityHashMap<Question, Doc>();
+	private Doc[] docsByNumber = new Doc[64];
+	private int nextDocNumber = 0;
+
+	// Posting list of each word.
+	private final Map<String, Postings> postings = new HashMap<String, Postings>();
+
+	// Total number of words in all the indexed questions.
+	private long totalLength = 0;
+
+
+	/**
+	 * Create an empty index.
+	 */
+	public QuestionSearchIndex() {
+		super();
+	}
+
+	// search
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Find the questions in a pool that contain any of some words, best
+	 * match first. The index is first brought up to date with any questions
+	 * added to or deleted from the pool - or, if it last indexed a different
+	 * pool, rebuilt.</p>
+	 *
+	 * @param pool  the pool to search.
+	 * @param query  the words to search for.
+	 * @param maxResults  the most questions to return.
+	 * @return the matching questions, best first.
+	 */
+	public synchronized List<Question> search(QuestionPool pool, String query,
+			int maxResults) {
+		synchronize(pool);
+
+		Set<String> words = new LinkedHashSet<String>(tokenize(query));
+		if (words.isEmpty() || docs.isEmpty() || maxResults <= 0) {
+			return Collections.emptyList();
+		}
+
+		float avgLength = (float) totalLength / docs.size();
+		float[] scores = new float[nextDocNumber];
+		for (String word : words) {
+			Postings list = postings.get(word);
+			if (list == null) {
+				continue;
+			}
+			float idf = (float) Math.log(1 + (docs.size() - list.size + 0.5)
+					/ (list.size + 0.5));
+			for (int i = 0; i < list.size; i++) {
+				int tf = list.freqs[i];
+				int length = docsByNumber[list.docs[i]].length;
+				scores[list.docs[i]] += idf * tf * (K1 + 1)
+						/ (tf + K1 * (1 - B + B * length / avgLength));
+			}
+		}
+
+		// Keep the best maxResults, worst at the head of the queue.
+		PriorityQueue<Integer> best = new PriorityQueue<Integer>(
+				Math.min(maxResults, docs.size()) + 1, new ScoreComparator(scores));
+		for (int d = 0; d < scores.length; d++) {
+			if (scores[d] > 0) {
+				best.add(d);
+				if (best.size() > maxResults) {
+					best.poll();
+				}
+			}
+		}
+
+		List<Question> results = new ArrayList<Question>(best.size());
+		while (!best.isEmpty()) {
+			results.add(docsByNumber[best.poll()].question);
+		}
+		Collections.reverse(results);
+		return results;
+	}
+
+	// update
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Re-index a question after it has been edited. Only the posting
+	 * lists of its words are changed; if its words are as they were,
+	 * nothing is.</p>
+	 *
+	 * @param question  the question that was edited. If it hasn't been
+	 *                  indexed yet it will be when the pool is next searched.
+	 */
+	public synchronized void update(Question question) {
+		Doc doc = docs.get(question);
+		if (doc == null) {
+			return;
+		}
+		Map<String, Integer> terms = countTerms(question);
+		if (doc.hasTerms(terms)) {
+			return;
+		}
+		remove(doc);
+		add(question, terms);
+	}
+
+	// clear
+	//-----------------------------------------------------------------------
+	/**
+	 * <p>Empty the index, e.g. when the pool is closed.</p>
+	 */
+	public synchronized void clear() {
+		docs.clear();
+		postings.clear();
+		docsByNumber = new Doc[64];
+		nextDocNumber = 0;
+		totalLength = 0;
+		qPool = null;
+	}
+
+	/**
+	 * @return the number of questions indexed.
+	 */
+	public synchronized int getSize() {
+		return docs.size();
+	}
+
+	/**
+	 * Bring the index up to date with the questions in the pool.
+	 */
+	private void synchronize(QuestionPool pool) {
+		if (pool != qPool) {
+			clear();
+			qPool = pool;
+			poolModCount = pool.getModCount() - 1;
+		}
+		if (pool.getModCount() == poolModCount) {
+			return;
+		}
+
+		// Add the new questions, noting which are still in the pool...
+		Set<Question> current = Collections.newSetFromMap(
+				new IdentityHashMap<Question, Boolean>(pool.getSize() * 2));
+		for (int i = 0; i < pool.getSize(); i++) {
+			Question q = pool.getQuestion(i);
+			if (q == null) {
+				continue;
+			}
+			current.add(q);
+			if (!docs.containsKey(q)) {
+				add(q, countTerms(q));
+			}
+		}
+
+		// ...and take out the deleted ones.
+		if (docs.size() > current.size()) {
+			for (Doc doc : new ArrayList<Doc>(docs.values())) {
+				if (!current.contains(doc.question)) {
+					remove(doc);
+				}
+			}
+		}
+		poolModCount = pool.getModCount();
+	}
+
+	private void add(Question question, Map<String, Integer> terms) {
+		if (nextDocNumber == docsByNumber.length) {
+			if (docs.size() < docsByNumber.length / 2) {
+				renumber();
+			}
+			else {
+				docsByNumber = Arrays.copyOf(docsByNumber, docsByNumber.length * 2);
+			}
+		}
+
+		Doc doc = new Doc(nextDocNumber++, question, terms.size());
+		for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+			Postings list = postings.get(entry.getKey());
+			if (list == null) {
+				list = new Postings(entry.getKey());
+				postings.put(entry.getKey(), list);
+			}
+			list.add(doc.number, entry.getValue());
+			doc.addTerm(list, entry.getValue());
+		}
+
+		docs.put(question, doc);
+		docsByNumber[doc.number] = doc;
+		totalLength += doc.length;
+	}
+
+	private void remove(Doc doc) {
+		docs.remove(doc.question);
+		docsByNumber[doc.number] = null;
+		totalLength -= doc.length;
+
+		for (Postings list : doc.lists) {
+			list.remove(doc.number);
+			if (list.size == 0) {
+				postings.remove(list.term);
+			}
+		}
+	}
+
+	/**
+	 * Give the indexed questions consecutive doc numbers again, once
+	 * re-indexing has left too many unused.
+	 */
+	private void renumber() {
+		int[] newNumbers = new int[nextDocNumber];
+		int next = 0;
+		for (int d = 0; d < nextDocNumber; d++) {
+			if (docsByNumber[d] != null) {
+				newNumbers[d] = next;
+				docsByNumber[next] = docsByNumber[d];
+				docsByNumber[next].number = next;
+				next++;
+			}
+		}
+		Arrays.fill(docsByNumber, next, nextDocNumber, null);
+		nextDocNumber = next;
+
+		for (Postings list : postings.values()) {
+			for (int i = 0; i < list.size; i++) {
+				list.docs[i] = newNumbers[list.docs[i]];
+			}
+		}
+	}
+
+	/**
+	 * Count how often each word occurs in a question.
+	 */
+	private static Map<String, Integer> countTerms(Question question) {
+		Map<String, Integer> terms = new HashMap<String, Integer>();
+		countTerms(terms, question.getQuestionText());
+		countTerms(terms, DocumentUtils.getPlainText(question));
+		countTerms(terms, question.getHintText());
+		countTerms(terms, question.getExplainText());
+		if (question.getPossibleAnswers() != null) {
+			for (PossibleAnswer pa : question.getPossibleAnswers()) {
+				countTerms(terms, pa.getTheAnswer());
+				if (pa.getAnswerExplanation() != null) {
+					countTerms(terms, pa.getAnswerExplanation().toString());
+				}
+			}
+		}
+		return terms;
+	}
+
+	private static void countTerms(Map<String, Integer> terms, String text) {
+		for (String word : tokenize(text)) {
+			Integer count = terms.get(word);
+			terms.put(word, (count == null) ? 1 : count + 1);
+		}
+	}
+
+	/**
+	 * Split text into words: runs of letters and digits, in lower case.
+	 */
+	static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<String>();
+		if (text == null) {
+			return words;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = (i < text.length())
+					&& Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			}
+			else
+			if (!inWord && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase());
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+
+	/**
+	 * An indexed question, and the words it had when indexed - held as
+	 * their posting lists, so each word's String is only kept once.
+	 */
+	private static final class Doc {
+		int number;
+		final Question question;
+		final Postings[] lists;
+		final int[] freqs;
+		int termCount = 0;
+		int length = 0;
+
+		Doc(int number, Question question, int terms) {
+			this.number = number;
+			this.question = question;
+			lists = new Postings[terms];
+			freqs = new int[terms];
+		}
+
+		void addTerm(Postings list, int freq) {
+			lists[termCount] = list;
+			freqs[termCount] = freq;
+			termCount++;
+			length += freq;
+		}
+
+		/**
+		 * Are these the words, and counts, the question was indexed with ?
+		 */
+		boolean hasTerms(Map<String, Integer> terms) {
+			if (terms.size() != termCount) {
+				return false;
+			}
+			for (int i = 0; i < termCount; i++) {
+				Integer freq = terms.get(lists[i].term);
+				if ((freq == null) || (freq != freqs[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The doc numbers of the questions a word occurs in, in increasing
+	 * order, and how often it occurs in each.
+	 */
+	private static final class Postings {
+		final String term;
+		int[] docs = new int[4];
+		int[] freqs = new int[4];
+		int size = 0;
+
+		Postings(String term) {
+			this.term = term;
+		}
+
+		void add(int doc, int freq) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				freqs = Arrays.copyOf(freqs, size * 2);
+			}
+			docs[size] = doc;
+			freqs[size] = freq;
+			size++;
+		}
+
+		void remove(int doc) {
+			int i = Arrays.binarySearch(docs, 0, size, doc);
+			if (i >= 0) {
+				System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+				System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+				size--;
+			}
+		}
+	}
+
+	/**
+	 * Orders doc numbers by score, lowest first.
+	 */
+	private static final class ScoreComparator implements Comparator<Integer> {
+		private final float[] scores;
+
+		ScoreComparator(float[] scores) {
+			this.scores = scores;
+		}
+
+		public int compare(Integer a, Integer b) {
+			return Float.compare(scores[a], scores[b]);
+		}
+	}
+}